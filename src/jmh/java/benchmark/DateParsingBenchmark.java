@@ -0,0 +1,65 @@
+package benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import task.Deadline;
+import task.Event;
+
+/**
+ * Measures {@link Deadline#parseDate} and {@link Event#parseDateTime} across the accepted formats.
+ * The canonical formats the tasks are saved in come first; the others go through the formatters
+ * and are then served from the cache of recently parsed strings, as they are when a user enters them again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateParsingBenchmark {
+
+    /**
+     * The dates to parse, each in a different format.
+     */
+    @State(Scope.Benchmark)
+    public static class Dates {
+        @Param({"2024-10-15", "15 Oct 2024", "10/15/24", "Oct 15 2024", "15/10/2024", "15-October-2024", "15 Oct"})
+        private String date;
+    }
+
+    /**
+     * The dates with times to parse, each in a different format.
+     */
+    @State(Scope.Benchmark)
+    public static class DateTimes {
+        @Param({"2024-10-15 1800", "15 Oct 2024 1800", "15 Oct 2024 6PM", "15/10/2024 1800", "2024-10-15T18:00",
+            "2024-10-15"})
+        private String dateTime;
+    }
+
+    private final Deadline deadline = new Deadline();
+    private final Event event = new Event();
+
+    @Benchmark
+    public LocalDate parseDate(Dates dates) {
+        return deadline.parseDate(dates.date);
+    }
+
+    @Benchmark
+    public LocalDateTime parseDateTime(DateTimes dateTimes) {
+        return event.parseDateTime(dateTimes.dateTime);
+    }
+}
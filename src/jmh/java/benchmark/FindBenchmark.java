@@ -0,0 +1,54 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import task.Task;
+import task.TaskList;
+
+/**
+ * Measures {@link TaskList#findTasks} on lists of generated tasks,
+ * for a common keyword, a rare keyword, a keyword no task contains,
+ * and a keyword too short for the search index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FindBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int taskCount;
+
+    @Param({"book", "assignment", "xyzzy", "bo"})
+    private String keyword;
+
+    private TaskList taskList;
+
+    /**
+     * Fills the task list with generated tasks.
+     */
+    @Setup
+    public void setUp() {
+        taskList = new TaskList(TaskDataGenerator.generateTasks(taskCount));
+    }
+
+    @Benchmark
+    public ArrayList<Task> findTasks() {
+        return taskList.findTasks(keyword);
+    }
+}
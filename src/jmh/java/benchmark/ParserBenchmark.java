@@ -0,0 +1,94 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import exceptions.EmptyTaskException;
+import exceptions.InvalidInputException;
+import exceptions.TaskIndexOutOfBound;
+import parser.Parser;
+import storage.Storage;
+import task.TaskList;
+
+/**
+ * Measures {@link Parser#parseUserCommand} for each type of command, on a list of generated tasks.
+ * Commands that add or delete a task are followed by "undo", so every invocation sees the same number of tasks;
+ * their scores include the undo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+    @Param({"1000"})
+    private int taskCount;
+
+    @Param({
+        "list",
+        "find book",
+        "mark 500",
+        "unmark 500",
+        "mark 1-1000",
+        "todo read book",
+        "deadline return book /by 2024-10-15",
+        "deadline return book /by 15 Oct 2024",
+        "event project meeting /from 2024-10-15 1400 /to 2024-10-15 1600",
+        "delete 500"
+    })
+    private String command;
+
+    private Path file;
+    private TaskList taskList;
+    private Storage storage;
+    private boolean isUndone;
+
+    /**
+     * Fills the task list with generated tasks.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("chattybuddy-parser", ".txt");
+        storage = new Storage(file.toString());
+        taskList = new TaskList(TaskDataGenerator.generateTasks(taskCount));
+        isUndone = command.startsWith("todo") || command.startsWith("deadline")
+                || command.startsWith("event") || command.startsWith("delete");
+    }
+
+    /**
+     * Deletes the file of the storage.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Parses and executes the command, followed by "undo" for commands that add or delete a task.
+     */
+    @Benchmark
+    public String parseUserCommand() throws InvalidInputException, EmptyTaskException, TaskIndexOutOfBound {
+        String response = Parser.parseUserCommand(command, taskList, storage);
+        if (isUndone) {
+            return Parser.parseUserCommand("undo", taskList, storage);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,80 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import storage.Storage;
+import task.Task;
+
+/**
+ * Measures {@link Storage#loadTasks} and {@link Storage#saveTasks} on data files of generated tasks,
+ * in the text format and in the binary format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StorageBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int taskCount;
+
+    @Param({".txt", ".bin"})
+    private String extension;
+
+    private Path loadedFile;
+    private Path savedFile;
+    private Storage loadedStorage;
+    private Storage savedStorage;
+    private ArrayList<Task> tasks;
+
+    /**
+     * Writes a data file of generated tasks to load, and prepares another file to save the tasks to.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        loadedFile = Files.createTempFile("chattybuddy-load", extension);
+        savedFile = Files.createTempFile("chattybuddy-save", extension);
+        TaskDataGenerator.writeTasks(taskCount, loadedFile);
+        loadedStorage = new Storage(loadedFile.toString());
+        savedStorage = new Storage(savedFile.toString());
+        tasks = TaskDataGenerator.generateTasks(taskCount);
+    }
+
+    /**
+     * Deletes the data files.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(loadedFile);
+        Files.deleteIfExists(savedFile);
+    }
+
+    @Benchmark
+    public ArrayList<Task> loadTasks() throws IOException {
+        return loadedStorage.loadTasks();
+    }
+
+    @Benchmark
+    public void saveTasks() throws IOException {
+        savedStorage.saveTasks(tasks);
+    }
+}
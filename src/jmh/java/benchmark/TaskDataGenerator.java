@@ -0,0 +1,104 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Random;
+
+import storage.Storage;
+import task.Deadline;
+import task.Event;
+import task.Task;
+import task.Todo;
+
+/**
+ * The TaskDataGenerator class generates synthetic tasks for the benchmarks.
+ * The tasks are a mix of todos, deadlines and events with descriptions made of common words,
+ * and the same count and seed always generate the same tasks.
+ * Run it with a task count and a file path to write a data file that ChattyBuddy can load;
+ * a file ending in ".bin" is written in the binary format.
+ */
+public class TaskDataGenerator {
+
+    private static final long SEED = 2103L;
+    private static final String[] WORDS = {
+        "read", "book", "return", "library", "submit", "report", "buy", "groceries", "call", "mum",
+        "project", "meeting", "review", "code", "gym", "session", "pay", "bills", "clean", "room",
+        "prepare", "slides", "lecture", "tutorial", "assignment", "quiz", "dinner", "with", "friends", "walk"
+    };
+    private static final LocalDate FIRST_DATE = LocalDate.of(2024, 1, 1);
+    private static final int DAYS = 730;
+
+    /**
+     * Generates the given number of tasks.
+     *
+     * @param count The number of tasks to generate.
+     * @return The generated tasks.
+     */
+    public static ArrayList<Task> generateTasks(int count) {
+        Random random = new Random(SEED);
+        ArrayList<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(generateTask(random));
+        }
+        return tasks;
+    }
+
+    private static Task generateTask(Random random) {
+        Task task;
+        LocalDate date = FIRST_DATE.plusDays(random.nextInt(DAYS));
+        switch (random.nextInt(3)) {
+        case 0:
+            task = new Todo();
+            break;
+        case 1:
+            Deadline deadline = new Deadline();
+            deadline.setDueTime(date);
+            task = deadline;
+            break;
+        default:
+            Event event = new Event();
+            LocalDateTime startTime = date.atTime(8 + random.nextInt(10), 0);
+            event.setStartTime(startTime);
+            event.setEndTime(startTime.plusHours(1 + random.nextInt(3)));
+            task = event;
+            break;
+        }
+
+        StringBuilder description = new StringBuilder(WORDS[random.nextInt(WORDS.length)]);
+        int wordCount = 1 + random.nextInt(4);
+        for (int i = 0; i < wordCount; i++) {
+            description.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        task.setDescription(description.toString());
+        task.setMarkStatus(random.nextInt(4) == 0);
+        return task;
+    }
+
+    /**
+     * Writes the given number of generated tasks to a data file.
+     *
+     * @param count The number of tasks to generate.
+     * @param file The data file to write, which is replaced if it exists.
+     * @throws IOException if there's an error writing to the file.
+     */
+    public static void writeTasks(int count, Path file) throws IOException {
+        new Storage(file.toString()).saveTasks(generateTasks(count));
+    }
+
+    /**
+     * Writes a data file of generated tasks.
+     *
+     * @param args The number of tasks, followed by the path of the data file.
+     * @throws IOException if there's an error writing to the file.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("Usage: TaskDataGenerator [number of tasks] [data file]");
+            return;
+        }
+        writeTasks(Integer.parseInt(args[0]), Path.of(args[1]));
+    }
+}
@@ -0,0 +1,109 @@
+package main;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import exceptions.EmptyTaskException;
+import exceptions.InvalidInputException;
+import exceptions.TaskIndexOutOfBound;
+
+/**
+ * The BatchRunner class runs a file of commands, one per line, without saving after every command.
+ * The responses are streamed out as the commands run, and the tasks are saved once at the end.
+ * In atomic mode, a command that fails aborts the batch and nothing is saved.
+ */
+public class BatchRunner {
+
+    private static final String ATOMIC_OPTION = "--atomic";
+
+    private final Duke chattyBuddy;
+    private final boolean isAtomic;
+
+    /**
+     * Initializes the BatchRunner.
+     * @param chattyBuddy The ChattyBuddy instance to run the commands on.
+     * @param isAtomic Whether a failed command should abort the batch without saving anything.
+     */
+    public BatchRunner(Duke chattyBuddy, boolean isAtomic) {
+        this.chattyBuddy = chattyBuddy;
+        this.isAtomic = isAtomic;
+    }
+
+    /**
+     * Runs the commands read from the input until the input ends or "bye" is read,
+     * then saves the tasks unless the batch was aborted.
+     * Blank lines are skipped.
+     * @param in The commands to run.
+     * @param out Where the responses are written.
+     * @return true if the tasks were saved, false if the batch was aborted or saving failed.
+     * @throws IOException if there's an error reading the commands.
+     */
+    public boolean run(BufferedReader in, PrintWriter out) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null && !line.equals("bye")) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                out.println(chattyBuddy.execute(line));
+            } catch (InvalidInputException | EmptyTaskException | TaskIndexOutOfBound e) {
+                out.println(e.getMessage());
+                if (isAtomic) {
+                    abort(out);
+                    return false;
+                }
+            }
+        }
+
+        try {
+            chattyBuddy.commit();
+        } catch (IOException e) {
+            out.println("Error: Unable to save tasks to file.");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Discards the changes of the batch, so they are not written even when the pending changes
+     * are flushed on shutdown.
+     */
+    private void abort(PrintWriter out) {
+        try {
+            chattyBuddy.rollback();
+        } catch (IOException e) {
+            out.println("Error: Unable to load the saved tasks again.");
+        }
+        out.println("The batch has been aborted, so none of its changes were saved.");
+    }
+
+    /**
+     * Runs a batch of commands from the command line.
+     * The commands are read from the given file, or from the standard input if no file is given.
+     * @param args An optional "--atomic" flag, followed by an optional path to the command file.
+     */
+    public static void main(String[] args) throws IOException {
+        boolean isAtomic = args.length > 0 && args[0].equals(ATOMIC_OPTION);
+        int fileArgument = isAtomic ? 1 : 0;
+        BufferedReader in = args.length > fileArgument
+                ? Files.newBufferedReader(Path.of(args[fileArgument]))
+                : new BufferedReader(new InputStreamReader(System.in));
+        PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out)));
+
+        Duke chattyBuddy = new Duke(Duke.getDataFile());
+        boolean isSaved;
+        try (in) {
+            isSaved = new BatchRunner(chattyBuddy, isAtomic).run(in, out);
+        } finally {
+            out.flush();
+        }
+        chattyBuddy.close();
+        System.exit(isSaved ? 0 : 1);
+    }
+}
@@ -0,0 +1,80 @@
+package main;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+
+/**
+ * The Cli class runs ChattyBuddy in a terminal, reading one command per line from the standard input.
+ * It does not load any JavaFX classes, so it starts quickly and runs without a display.
+ */
+public class Cli {
+
+    private static final String LINE = "____________________________________________________________";
+    private static final String WELCOME_MESSAGE = "Hello! I'm ChattyBuddy\nWhat can I do for you?";
+    private static final String GOODBYE_MESSAGE = "Bye. Hope to see you again soon!";
+
+    private final BufferedReader in;
+    private final PrintStream out;
+
+    /**
+     * Initializes the Cli with where the commands are read from and where the responses are written.
+     * @param in The commands entered by the user.
+     * @param out Where the responses are written.
+     */
+    public Cli(BufferedReader in, PrintStream out) {
+        this.in = in;
+        this.out = out;
+    }
+
+    /**
+     * Shows the welcome message to the user.
+     */
+    public void showWelcomeMessage() {
+        show(WELCOME_MESSAGE);
+    }
+
+    /**
+     * Runs the commands entered by the user until "bye" is entered or the input ends.
+     * Blank lines are skipped.
+     * @param chattyBuddy The ChattyBuddy instance that handles the commands.
+     * @throws IOException if there's an error reading the commands.
+     */
+    public void run(Duke chattyBuddy) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String response = chattyBuddy.getResponse(line);
+            if (line.equals("bye")) {
+                show(response == null ? GOODBYE_MESSAGE : response);
+                return;
+            }
+            show(response);
+        }
+    }
+
+    private void show(String message) {
+        out.println(LINE);
+        out.println(message);
+        out.println(LINE);
+    }
+
+    /**
+     * Starts ChattyBuddy in the terminal.
+     * The welcome message is shown before the tasks are loaded, so the user does not wait for it.
+     * @param args Command line arguments, which are ignored.
+     */
+    public static void main(String[] args) throws IOException {
+        Cli cli = new Cli(new BufferedReader(new InputStreamReader(System.in)), System.out);
+        cli.showWelcomeMessage();
+        Duke chattyBuddy = new Duke(Duke.getDataFile());
+        try {
+            cli.run(chattyBuddy);
+        } finally {
+            chattyBuddy.close();
+        }
+    }
+}
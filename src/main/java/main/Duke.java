@@ -3,14 +3,18 @@ package main;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
+import javax.management.JMException;
 
 import exceptions.EmptyTaskException;
 import exceptions.InvalidInputException;
 import exceptions.TaskIndexOutOfBound;
+import metrics.CommandMetrics;
+import metrics.CommandStats;
+import parser.CommandLine;
 import parser.Parser;
 import storage.Storage;
-import task.Task;
 import task.TaskList;
+import undo.UndoStack;
 
 
 /**
@@ -19,46 +23,230 @@ import task.TaskList;
  */
 public class Duke {
 
+    private static final String DATA_FILE_PROPERTY = "chattybuddy.dataFile";
+    private static final String DEFAULT_DATA_FILE = "./data/chattybuddy.txt";
+    private static final String FLUSH_WINDOW_PROPERTY = "chattybuddy.flushWindowMillis";
+    private static final String FLUSH_BATCH_PROPERTY = "chattybuddy.flushBatchSize";
+    private static final int DEFAULT_FLUSH_BATCH_SIZE = 64;
+    private static final String UNDO_CAPACITY_PROPERTY = "chattybuddy.undoCapacity";
+    private static final String STATS_COMMAND = "stats";
+    private static final String METRICS_LOG_INTERVAL_PROPERTY = "chattybuddy.metricsLogSeconds";
+    private static final String JMX_PROPERTY = "chattybuddy.jmx";
+
     private TaskList taskList;
     private Storage storage;
+    private final CommandMetrics metrics = new CommandMetrics(Parser.COMMANDS);
+    private CommandStats commandStats;
+    private long parseNanos;
+    private long executeNanos;
+    private boolean isCommandFailed;
+    private boolean isCommandMutating;
 
     /**
-     * Initializes the ChattyBuddy application, loading tasks from storage.
+     * Initializes the ChattyBuddy application, loading tasks from the file given by {@link #getDataFile()}.
      */
     public Duke() {
-        storage = new Storage("./data/chattybuddy.txt");
+        this(getDataFile());
+    }
+
+    /**
+     * Initializes the ChattyBuddy application with the tasks kept in the given file;
+     * a file ending in ".bin" is stored in binary.
+     * Setting the system property {@code chattybuddy.flushWindowMillis} makes saves asynchronous,
+     * with changes written in batches of up to {@code chattybuddy.flushBatchSize} commands.
+     * The system property {@code chattybuddy.undoCapacity} sets how many commands can be undone.
+     * Setting the system property {@code chattybuddy.jmx} to true publishes the statistics of the commands
+     * and the I/O metrics of the storage through JMX, and setting {@code chattybuddy.metricsLogSeconds}
+     * logs the storage metrics at that interval.
+     * @param filePath The path to the task file.
+     */
+    public Duke(String filePath) {
+        storage = new Storage(filePath, true);
+        long flushWindowMillis = Long.getLong(FLUSH_WINDOW_PROPERTY, 0);
+        if (flushWindowMillis > 0) {
+            storage.enableAsyncFlush(flushWindowMillis,
+                    getPositiveInteger(FLUSH_BATCH_PROPERTY, DEFAULT_FLUSH_BATCH_SIZE));
+        }
+        storage.setUndoCapacity(getPositiveInteger(UNDO_CAPACITY_PROPERTY, UndoStack.DEFAULT_CAPACITY));
         try {
             taskList = new TaskList(storage.loadTasks());
         } catch (FileNotFoundException e) {
             taskList = new TaskList(new ArrayList<>());
+        } catch (IOException e) {
+            System.out.println("Error: Unable to load tasks from " + filePath + ": " + e.getMessage()
+                    + ". Starting with an empty task list.");
+            taskList = new TaskList(new ArrayList<>());
+        }
+        if (Boolean.getBoolean(JMX_PROPERTY)) {
+            registerMBeans();
+        }
+        long metricsLogSeconds = Long.getLong(METRICS_LOG_INTERVAL_PROPERTY, 0);
+        if (metricsLogSeconds > 0) {
+            storage.logMetricsPeriodically(metricsLogSeconds);
+        }
+    }
+
+    /**
+     * Returns the file the tasks are kept in, which is {@code ./data/chattybuddy.txt}
+     * unless the system property {@code chattybuddy.dataFile} names another file.
+     * @return The path to the task file.
+     */
+    public static String getDataFile() {
+        return System.getProperty(DATA_FILE_PROPERTY, DEFAULT_DATA_FILE);
+    }
+
+    private void registerMBeans() {
+        try {
+            metrics.registerMBeans();
+        } catch (JMException e) {
+            System.out.println("Error: Unable to publish the statistics of the commands through JMX.");
+        }
+        try {
+            storage.getMetrics().registerMBean();
+        } catch (JMException e) {
+            System.out.println("Error: Unable to publish the metrics of the storage through JMX.");
+        }
+    }
+
+    /**
+     * Returns the value of a system property that should be a positive integer,
+     * falling back to the default value with a message if it is not.
+     */
+    private static int getPositiveInteger(String property, int defaultValue) {
+        int value = Integer.getInteger(property, defaultValue);
+        if (value <= 0) {
+            System.out.println("Error: " + property + " should be a positive number, using "
+                    + defaultValue + " instead.");
+            return defaultValue;
         }
+        return value;
     }
 
     /**
      * Processes the user's input and returns a response.
+     * The tasks are saved once after the command, and only if the command changed them;
+     * commands that only read the tasks, such as list and find, skip saving altogether.
+     * The time spent parsing, executing and saving is recorded in the statistics of the command.
      * @param input The user's input message.
      * @return The response generated by ChattyBuddy.
      */
     public String getResponse(String input) {
         if (input.equals("bye")) {
+            try {
+                storage.flush();
+            } catch (IOException e) {
+                return "Error: Unable to save tasks to file.";
+            }
             return null;
         }
+
+        String response;
         try {
-            String response = Parser.parseUserCommand(input, taskList, storage);
-            saveTasksToStorage(taskList.getTasks());
-            return response;
+            response = executeAndTime(input);
         } catch (InvalidInputException | EmptyTaskException | TaskIndexOutOfBound e) {
-            return e.getMessage();
+            response = e.getMessage();
+        }
+
+        if (!isCommandMutating) {
+            if (commandStats != null) {
+                commandStats.record(parseNanos, executeNanos, isCommandFailed);
+            }
+            return response;
+        }
+
+        long saveStart = System.nanoTime();
+        try {
+            saveChangesToStorage();
         } catch (IOException e) {
-            return "Error: Unable to save tasks to file.";
+            isCommandFailed = true;
+            response = "Error: Unable to save tasks to file.";
+        }
+        if (commandStats != null) {
+            commandStats.record(parseNanos, executeNanos, System.nanoTime() - saveStart, isCommandFailed);
         }
+        return response;
     }
 
-    private void saveTasksToStorage(ArrayList<Task> tasks) throws IOException {
+    /**
+     * Executes the user's input without saving the tasks, so that several commands can be saved together.
+     * The time spent parsing and executing is recorded in the statistics of the command.
+     * @param input The user's input message.
+     * @return The response generated by ChattyBuddy.
+     * @throws InvalidInputException if the user enters an unrecognized command or provides invalid input.
+     * @throws EmptyTaskException if the user attempts to add a task without providing a description.
+     * @throws TaskIndexOutOfBound if the user provides an index for a task that does not exist.
+     */
+    public String execute(String input) throws InvalidInputException, EmptyTaskException, TaskIndexOutOfBound {
         try {
-            storage.saveTasks(tasks);
-        } catch (IOException e) {
-            throw new IOException();
+            return executeAndTime(input);
+        } finally {
+            if (commandStats != null) {
+                commandStats.record(parseNanos, executeNanos, isCommandFailed);
+            }
+        }
+    }
+
+    /**
+     * Executes the user's input, remembering the statistics of the command and the time spent on each phase.
+     * The "stats" command shows the statistics and is not recorded itself.
+     */
+    private String executeAndTime(String input)
+            throws InvalidInputException, EmptyTaskException, TaskIndexOutOfBound {
+        if (input.equals(STATS_COMMAND)) {
+            commandStats = null;
+            isCommandMutating = false;
+            return metrics.toReport();
+        }
+
+        long start = System.nanoTime();
+        CommandLine commandLine = Parser.parseCommand(input);
+        long parsed = System.nanoTime();
+        commandStats = metrics.getStats(commandLine.getCommand());
+        isCommandMutating = Parser.isMutating(commandLine);
+        parseNanos = parsed - start;
+        isCommandFailed = true;
+        try {
+            String response = Parser.executeCommand(commandLine, taskList, storage);
+            isCommandFailed = false;
+            return response;
+        } finally {
+            executeNanos = System.nanoTime() - parsed;
+        }
+    }
+
+    /**
+     * Saves the changes made by the commands executed so far and writes them to disk.
+     * @throws IOException if there's an error writing to the file.
+     */
+    public void commit() throws IOException {
+        saveChangesToStorage();
+        storage.flush();
+    }
+
+    /**
+     * Discards the changes made by the commands executed since the tasks were last saved,
+     * and loads the tasks again as they were saved.
+     * @throws IOException if there's an error writing the saved changes or loading the tasks.
+     */
+    public void rollback() throws IOException {
+        storage.discardUnsavedChanges();
+        storage.flush();
+        storage.awaitCompaction();
+        taskList = new TaskList(storage.loadTasks());
+    }
+
+    /**
+     * Writes any pending changes and stops the background threads of the storage.
+     */
+    public void close() {
+        storage.close();
+    }
+
+    private void saveChangesToStorage() throws IOException {
+        if (!taskList.hasUnsavedChanges()) {
+            return;
         }
+        storage.saveTasks(taskList.getTasks());
+        taskList.markAsSaved();
     }
 }
@@ -0,0 +1,96 @@
+package metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * The CommandMetrics class keeps the statistics of every type of command.
+ * The statistics of each command are created up front, so looking them up while commands run allocates nothing,
+ * and input that is not a known command is counted together under "unknown".
+ * The statistics can be shown to the user as a report, or read through JMX.
+ */
+public class CommandMetrics {
+
+    public static final String UNKNOWN_COMMAND = "unknown";
+    private static final String OBJECT_NAME_PREFIX = "chattybuddy:type=CommandStats,command=";
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<String, CommandStats> statsByCommand;
+
+    /**
+     * Constructs CommandMetrics for the given commands.
+     *
+     * @param commands The command keywords.
+     */
+    public CommandMetrics(List<String> commands) {
+        Map<String, CommandStats> stats = new LinkedHashMap<>();
+        for (String command : commands) {
+            stats.put(command, new CommandStats(command));
+        }
+        stats.put(UNKNOWN_COMMAND, new CommandStats(UNKNOWN_COMMAND));
+        this.statsByCommand = Collections.unmodifiableMap(stats);
+    }
+
+    /**
+     * Returns the statistics of a command.
+     *
+     * @param command The command keyword.
+     * @return The statistics of the command, or those of unknown commands if the keyword is not a command.
+     */
+    public CommandStats getStats(String command) {
+        CommandStats stats = statsByCommand.get(command);
+        return stats != null ? stats : statsByCommand.get(UNKNOWN_COMMAND);
+    }
+
+    /**
+     * Returns a report of the commands that have been run, with their counts and latencies.
+     *
+     * @return The report, one line per command.
+     */
+    public String toReport() {
+        StringBuilder report = new StringBuilder("Here are the statistics of your commands:");
+        boolean hasCommands = false;
+        for (CommandStats stats : statsByCommand.values()) {
+            if (stats.getCount() == 0) {
+                continue;
+            }
+            hasCommands = true;
+            LatencyHistogram latency = stats.getLatency();
+            report.append(String.format("\n%s: %d run, %d failed, median %.3f ms, 99%% %.3f ms, max %.3f ms"
+                            + " (mean parse %.3f ms, execute %.3f ms, save %.3f ms)",
+                    stats.getCommand(), stats.getCount(), stats.getErrorCount(),
+                    latency.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                    latency.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                    latency.getMaxNanos() / NANOS_PER_MILLI,
+                    stats.getMeanParseMicros() / MICROS_PER_MILLI,
+                    stats.getMeanExecuteMicros() / MICROS_PER_MILLI,
+                    stats.getMeanPersistMicros() / MICROS_PER_MILLI));
+        }
+        return hasCommands ? report.toString() : "No commands have been run yet.";
+    }
+
+    /**
+     * Registers the statistics of every command with the platform MBean server,
+     * replacing any statistics registered before, so that JMX clients can read them.
+     *
+     * @throws JMException if the statistics cannot be registered.
+     */
+    public void registerMBeans() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (CommandStats stats : statsByCommand.values()) {
+            ObjectName name = new ObjectName(OBJECT_NAME_PREFIX + stats.getCommand());
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(stats, name);
+        }
+    }
+}
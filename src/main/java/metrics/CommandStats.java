@@ -0,0 +1,123 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The CommandStats class keeps the statistics of one type of command: how often it was run,
+ * how often it failed, and histograms of its latency and of the time spent in each phase.
+ * A command is parsed, then executed on the task list, then the tasks are saved;
+ * the phases are recorded separately, and their sum is recorded as the latency of the command.
+ * Commands in a batch are saved together at the end, so they have no saving phase.
+ */
+public class CommandStats implements CommandStatsMBean {
+
+    private static final double NANOS_PER_MICRO = 1000.0;
+
+    private final String command;
+    private final AtomicLong errorCount = new AtomicLong();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram parseLatency = new LatencyHistogram();
+    private final LatencyHistogram executeLatency = new LatencyHistogram();
+    private final LatencyHistogram persistLatency = new LatencyHistogram();
+
+    /**
+     * Constructs CommandStats for a type of command.
+     *
+     * @param command The command keyword (e.g. mark).
+     */
+    public CommandStats(String command) {
+        this.command = command;
+    }
+
+    /**
+     * Records a command whose tasks were not saved right after it, as in a batch of commands.
+     *
+     * @param parseNanos The time spent parsing the command, in nanoseconds.
+     * @param executeNanos The time spent executing the command, in nanoseconds.
+     * @param isError Whether the command failed.
+     */
+    public void record(long parseNanos, long executeNanos, boolean isError) {
+        parseLatency.record(parseNanos);
+        executeLatency.record(executeNanos);
+        latency.record(parseNanos + executeNanos);
+        if (isError) {
+            errorCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Records a command whose tasks were saved right after it.
+     *
+     * @param parseNanos The time spent parsing the command, in nanoseconds.
+     * @param executeNanos The time spent executing the command, in nanoseconds.
+     * @param persistNanos The time spent saving the tasks, in nanoseconds.
+     * @param isError Whether the command failed.
+     */
+    public void record(long parseNanos, long executeNanos, long persistNanos, boolean isError) {
+        parseLatency.record(parseNanos);
+        executeLatency.record(executeNanos);
+        persistLatency.record(persistNanos);
+        latency.record(parseNanos + executeNanos + persistNanos);
+        if (isError) {
+            errorCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the command keyword.
+     *
+     * @return The command keyword.
+     */
+    public String getCommand() {
+        return this.command;
+    }
+
+    /**
+     * Returns the histogram of the latency of the command, from parsing to saving the tasks.
+     *
+     * @return The latency histogram.
+     */
+    public LatencyHistogram getLatency() {
+        return this.latency;
+    }
+
+    @Override
+    public long getCount() {
+        return latency.getCount();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+
+    @Override
+    public double getMedianMicros() {
+        return latency.getValueAtPercentile(50) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getPercentile99Micros() {
+        return latency.getValueAtPercentile(99) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return latency.getMaxNanos() / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getMeanParseMicros() {
+        return parseLatency.getMeanNanos() / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getMeanExecuteMicros() {
+        return executeLatency.getMeanNanos() / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getMeanPersistMicros() {
+        return persistLatency.getMeanNanos() / NANOS_PER_MICRO;
+    }
+}
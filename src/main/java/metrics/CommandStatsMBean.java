@@ -0,0 +1,64 @@
+package metrics;
+
+/**
+ * The management interface through which JMX clients such as JConsole read the statistics of one command.
+ * Latencies are given in microseconds.
+ */
+public interface CommandStatsMBean {
+
+    /**
+     * Returns the number of times the command was run.
+     *
+     * @return The number of times the command was run.
+     */
+    long getCount();
+
+    /**
+     * Returns the number of times the command failed.
+     *
+     * @return The number of failed commands.
+     */
+    long getErrorCount();
+
+    /**
+     * Returns the median latency of the command, from parsing to saving the tasks.
+     *
+     * @return The median latency in microseconds.
+     */
+    double getMedianMicros();
+
+    /**
+     * Returns the 99th percentile latency of the command, from parsing to saving the tasks.
+     *
+     * @return The 99th percentile latency in microseconds.
+     */
+    double getPercentile99Micros();
+
+    /**
+     * Returns the longest latency of the command, from parsing to saving the tasks.
+     *
+     * @return The longest latency in microseconds.
+     */
+    double getMaxMicros();
+
+    /**
+     * Returns the mean time spent parsing the command.
+     *
+     * @return The mean parsing time in microseconds.
+     */
+    double getMeanParseMicros();
+
+    /**
+     * Returns the mean time spent executing the command on the task list.
+     *
+     * @return The mean execution time in microseconds.
+     */
+    double getMeanExecuteMicros();
+
+    /**
+     * Returns the mean time spent saving the tasks after the command.
+     *
+     * @return The mean saving time in microseconds.
+     */
+    double getMeanPersistMicros();
+}
@@ -0,0 +1,110 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The LatencyHistogram class counts latencies in buckets whose width grows with the latency,
+ * in the way HdrHistogram does. Latencies below 32 ns have a bucket each, and every doubling
+ * above that is split into 32 buckets, so a percentile is accurate to within about 3%.
+ * The buckets are allocated up front, so recording a latency allocates nothing,
+ * and the histogram can be read from another thread while latencies are recorded.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final long MAX_TRACKABLE_NANOS = (1L << 40) - 1;
+    private static final int BUCKET_COUNT = bucketIndexOf(MAX_TRACKABLE_NANOS) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Records a latency. Latencies longer than about 18 minutes are counted as 18 minutes.
+     *
+     * @param nanos The latency in nanoseconds.
+     */
+    public void record(long nanos) {
+        long value = Math.min(Math.max(nanos, 0), MAX_TRACKABLE_NANOS);
+        counts.incrementAndGet(bucketIndexOf(value));
+        count.incrementAndGet();
+        totalNanos.addAndGet(value);
+        maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Returns the number of latencies recorded.
+     *
+     * @return The number of latencies.
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Returns the longest latency recorded.
+     *
+     * @return The longest latency in nanoseconds, or 0 if nothing was recorded.
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Returns the mean of the latencies recorded.
+     *
+     * @return The mean latency in nanoseconds, or 0 if nothing was recorded.
+     */
+    public double getMeanNanos() {
+        long recorded = count.get();
+        return recorded == 0 ? 0 : (double) totalNanos.get() / recorded;
+    }
+
+    /**
+     * Returns the latency that the given percentage of the recorded latencies are shorter than or equal to.
+     * The latency is the largest one that falls into the same bucket, but never more than the longest latency.
+     *
+     * @param percentile The percentage of latencies, between 0 and 100.
+     * @return The latency in nanoseconds, or 0 if nothing was recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long recorded = count.get();
+        if (recorded == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * recorded));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValueIn(i), getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+
+    /**
+     * Returns the bucket of a latency, which is given by the doubling the latency falls into
+     * and the five bits that follow its highest bit.
+     */
+    private static int bucketIndexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift);
+        return shift * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long highestValueIn(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long subBucket = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
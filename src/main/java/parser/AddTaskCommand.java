@@ -0,0 +1,57 @@
+package parser;
+
+import exceptions.EmptyTaskException;
+import exceptions.InvalidInputException;
+import exceptions.TaskIndexOutOfBound;
+import storage.Storage;
+import task.Task;
+import task.TaskList;
+
+/**
+ * The AddTaskCommand class is a command that adds a new task to the end of the task list,
+ * such as "todo", "deadline" and "event". Subclasses only create the task from the user's input.
+ */
+public abstract class AddTaskCommand implements Command {
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+
+    @Override
+    public String execute(CommandLine commandLine, TaskList taskList, Storage storage)
+            throws EmptyTaskException, InvalidInputException {
+        if (commandLine.size() < 2) {
+            throw new EmptyTaskException(getKeyword());
+        }
+
+        Task newTask;
+        try {
+            newTask = createTask(commandLine);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException(e.getMessage());
+        }
+        taskList.addTask(newTask);
+        storage.recordAddition(newTask);
+        storage.saveCommands(getKeyword(), newTask, taskList.getTasks().size() - 1);
+        return String.format("Got it. I've added this task:\n%s\nNow you have %d tasks in the list",
+                TaskFormatter.formatTask(newTask), taskList.getTasks().size());
+    }
+
+    /**
+     * Creates the task described by the user's input.
+     *
+     * @param commandLine The user's command split into words, with at least one word after the keyword.
+     * @return The new task.
+     * @throws IllegalArgumentException if the description or the dates are invalid,
+     *     with the message that is shown to the user; the command then fails with an InvalidInputException.
+     */
+    protected abstract Task createTask(CommandLine commandLine);
+
+    @Override
+    public void undo(Task task, int index, TaskList taskList, Storage storage) throws TaskIndexOutOfBound {
+        int currentIndex = taskList.indexOf(task, index);
+        taskList.deleteTask(currentIndex);
+        storage.recordDeletion(currentIndex);
+    }
+}
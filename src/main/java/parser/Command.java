@@ -0,0 +1,62 @@
+package parser;
+
+import exceptions.EmptyTaskException;
+import exceptions.InvalidInputException;
+import exceptions.TaskIndexOutOfBound;
+import storage.Storage;
+import task.Task;
+import task.TaskList;
+
+/**
+ * The Command interface is one type of command the user can enter, such as mark or find.
+ * A command executes on the task list and records its changes in the storage, and undoes them again
+ * when the user asks for it, so each command keeps all of its logic in one class
+ * and is added to the parser by registering it in a {@link CommandRegistry}.
+ * Commands that never change the tasks declare so through {@link #isMutating()},
+ * and the tasks are not saved after them.
+ */
+public interface Command {
+
+    /**
+     * Returns the full keyword the command is entered by.
+     *
+     * @return The keyword of the command, in lowercase letters.
+     */
+    String getKeyword();
+
+    /**
+     * Returns whether the command can change the tasks, in which case the tasks are saved after it.
+     * Commands that change the tasks also remember their changes for undo when they execute.
+     *
+     * @return true if the command can change the tasks, false if it only reads them.
+     */
+    boolean isMutating();
+
+    /**
+     * Executes the command on the task list.
+     *
+     * @param commandLine The user's command split into words.
+     * @param taskList The task list containing all tasks.
+     * @param storage The storage for saving tasks.
+     * @return The result of the command as a string message.
+     * @throws InvalidInputException if the user provides invalid input.
+     * @throws EmptyTaskException if the user attempts to add a task without providing a description.
+     * @throws TaskIndexOutOfBound if the user provides an index for a task that does not exist.
+     */
+    String execute(CommandLine commandLine, TaskList taskList, Storage storage)
+            throws InvalidInputException, EmptyTaskException, TaskIndexOutOfBound;
+
+    /**
+     * Undoes the change the command made to one task, and records the undo in the storage.
+     * The tasks of one command are undone in ascending order of their indexes.
+     * Commands that do not change the tasks have nothing to undo.
+     *
+     * @param task The task the command changed.
+     * @param index The index of the task when the command changed it.
+     * @param taskList The task list containing all tasks.
+     * @param storage The storage for saving tasks.
+     * @throws TaskIndexOutOfBound if the task is no longer in the task list.
+     */
+    default void undo(Task task, int index, TaskList taskList, Storage storage) throws TaskIndexOutOfBound {
+    }
+}
@@ -0,0 +1,123 @@
+package parser;
+
+import java.util.Arrays;
+
+/**
+ * The CommandLine class is a command entered by the user, split into its words in a single scan.
+ * Words are separated by single spaces, as with {@code split(" ")}, and the position of each word is kept,
+ * so the text between two words (e.g. a description up to "/by") is cut out of the input as it was entered,
+ * instead of joining the words and splitting them again.
+ */
+public class CommandLine {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final String input;
+    private final String command;
+    private final String[] words;
+    private final int[] starts;
+
+    private CommandLine(String input, String command, String[] words, int[] starts) {
+        this.input = input;
+        this.command = command;
+        this.words = words;
+        this.starts = starts;
+    }
+
+    /**
+     * Splits a command entered by the user into its words, and looks up the full keyword of the command.
+     * Empty words between consecutive spaces are kept, and those at the end are dropped.
+     *
+     * @param input The command entered by the user (e.g. deadline return book /by 2024-10-15).
+     * @param registry The commands, used to turn the first word into the full keyword of a command.
+     * @return The command split into its words.
+     */
+    static CommandLine split(String input, CommandRegistry registry) {
+        String[] words = new String[INITIAL_CAPACITY];
+        int[] starts = new int[INITIAL_CAPACITY];
+        int count = 0;
+        int nonEmptyCount = 0;
+        int start = 0;
+        for (int i = 0; i <= input.length(); i++) {
+            if (i < input.length() && input.charAt(i) != ' ') {
+                continue;
+            }
+            if (count == words.length) {
+                words = Arrays.copyOf(words, count * 2);
+                starts = Arrays.copyOf(starts, count * 2);
+            }
+            words[count] = input.substring(start, i);
+            starts[count] = start;
+            count++;
+            if (i > start) {
+                nonEmptyCount = count;
+            }
+            start = i + 1;
+        }
+
+        // like split(" "), empty words at the end are dropped, but the keyword is always there
+        count = Math.max(nonEmptyCount, 1);
+        String keyword = words[0];
+        Command command = registry.find(keyword);
+        return new CommandLine(input, command != null ? command.getKeyword() : keyword,
+                Arrays.copyOf(words, count), Arrays.copyOf(starts, count));
+    }
+
+    /**
+     * Returns the full keyword of the command, or the first word if it is not a command.
+     *
+     * @return The command keyword.
+     */
+    public String getCommand() {
+        return this.command;
+    }
+
+    /**
+     * Returns the words of the command, starting with the first word as it was entered.
+     *
+     * @return The user's input sliced Strings into an array.
+     */
+    public String[] getWords() {
+        return this.words;
+    }
+
+    /**
+     * Returns the number of words.
+     *
+     * @return The number of words in the command.
+     */
+    public int size() {
+        return words.length;
+    }
+
+    /**
+     * Returns the position of the first occurrence of a word.
+     *
+     * @param word The word to look for.
+     * @param fromIndex The position to start looking from.
+     * @return The position of the word, or -1 if it does not occur from that position on.
+     */
+    public int indexOf(String word, int fromIndex) {
+        for (int i = fromIndex; i < words.length; i++) {
+            if (words[i].equals(word)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the input from one word up to another, as it was entered.
+     *
+     * @param fromIndex The position of the first word.
+     * @param toIndex The position after the last word.
+     * @return The words between the positions, with the spaces between them, or "" if there are none.
+     */
+    public String join(int fromIndex, int toIndex) {
+        if (fromIndex >= toIndex) {
+            return "";
+        }
+        int lastIndex = toIndex - 1;
+        return input.substring(starts[fromIndex], starts[lastIndex] + words[lastIndex].length());
+    }
+}
@@ -0,0 +1,80 @@
+package parser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The CommandRegistry class holds the commands the parser executes, looked up by the first word of the user's input.
+ * Besides its full keyword, a command can be entered by an alias or by any prefix that no other command shares.
+ * Every word that stands for a command is worked out once when the command is registered,
+ * so looking up a command is a single map lookup.
+ */
+public class CommandRegistry {
+
+    private final CommandTrie<Command> trie = new CommandTrie<>();
+    private final List<String> aliases = new ArrayList<>();
+    private Map<String, Command> commandsByWord = new HashMap<>();
+
+    /**
+     * Registers a command under its keyword.
+     *
+     * @param command The command.
+     */
+    public void register(Command command) {
+        trie.add(command.getKeyword(), command);
+        updateCommandsByWord();
+    }
+
+    /**
+     * Registers an alias through which a command can also be entered.
+     *
+     * @param alias The alias.
+     * @param keyword The full keyword of a command that has already been registered.
+     */
+    public void registerAlias(String alias, String keyword) {
+        trie.addAlias(alias, keyword);
+        aliases.add(alias);
+        updateCommandsByWord();
+    }
+
+    /**
+     * Returns the command that a word stands for.
+     *
+     * @param word The full keyword, an alias or an unambiguous prefix of a command.
+     * @return The command, or null if the word does not stand for exactly one command.
+     */
+    public Command find(String word) {
+        return commandsByWord.get(word);
+    }
+
+    /**
+     * Returns the full keywords of all commands, in the order they were registered.
+     *
+     * @return The keywords of the commands.
+     */
+    public List<String> getKeywords() {
+        return trie.getKeywords();
+    }
+
+    /**
+     * Works out every word that stands for a command again, as a new command can make
+     * a prefix that used to stand for one command ambiguous.
+     */
+    private void updateCommandsByWord() {
+        Map<String, Command> updated = new HashMap<>();
+        List<String> words = new ArrayList<>(trie.getKeywords());
+        words.addAll(aliases);
+        for (String word : words) {
+            for (int length = 1; length <= word.length(); length++) {
+                String prefix = word.substring(0, length);
+                Command command = trie.find(prefix);
+                if (command != null) {
+                    updated.put(prefix, command);
+                }
+            }
+        }
+        commandsByWord = updated;
+    }
+}
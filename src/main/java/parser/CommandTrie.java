@@ -0,0 +1,133 @@
+package parser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The CommandTrie class maps command keywords to values, such as the handlers of the commands.
+ * Besides its full keyword, a command can be looked up by an alias (e.g. dl for deadline)
+ * or by any prefix that no other command shares (e.g. m for mark, but not d, which could be deadline or delete).
+ * A lookup walks one node per character of the text, so it takes no longer than the text is long.
+ * Keywords and aliases may only contain the lowercase letters a to z.
+ *
+ * @param <T> The type of the values.
+ */
+public class CommandTrie<T> {
+
+    private static final int ALPHABET_SIZE = 26;
+
+    private final Node<T> root = new Node<>();
+    private final List<String> keywords = new ArrayList<>();
+
+    /**
+     * Adds a command.
+     *
+     * @param keyword The full keyword of the command.
+     * @param value The value of the command.
+     */
+    public void add(String keyword, T value) {
+        insert(keyword, new Entry<>(value));
+        keywords.add(keyword);
+    }
+
+    /**
+     * Adds an alias through which a command can also be looked up.
+     *
+     * @param alias The alias.
+     * @param keyword The full keyword of a command that has already been added.
+     */
+    public void addAlias(String alias, String keyword) {
+        Node<T> node = walk(keyword);
+        assert node != null && node.entry != null : "the command of an alias should be added first";
+        insert(alias, node.entry);
+    }
+
+    private void insert(String word, Entry<T> entry) {
+        Node<T> node = root;
+        for (int i = 0; i < word.length(); i++) {
+            int index = word.charAt(i) - 'a';
+            assert index >= 0 && index < ALPHABET_SIZE : "keywords should only contain lowercase letters";
+            if (node.children[index] == null) {
+                node.children[index] = new Node<>();
+            }
+            node = node.children[index];
+            node.addBelow(entry);
+        }
+        node.entry = entry;
+    }
+
+    /**
+     * Returns the value of the command that the text stands for.
+     *
+     * @param text The full keyword, an alias or an unambiguous prefix of a command.
+     * @return The value of the command, or null if the text does not stand for exactly one command.
+     */
+    public T find(String text) {
+        Entry<T> entry = findEntry(text);
+        return entry == null ? null : entry.value;
+    }
+
+    /**
+     * Returns the full keywords of all commands, in the order they were added.
+     *
+     * @return The keywords of the commands.
+     */
+    public List<String> getKeywords() {
+        return Collections.unmodifiableList(keywords);
+    }
+
+    private Entry<T> findEntry(String text) {
+        Node<T> node = walk(text);
+        if (node == null || node == root) {
+            return null;
+        }
+        if (node.entry != null) {
+            return node.entry;
+        }
+        return node.isAmbiguous ? null : node.entryBelow;
+    }
+
+    private Node<T> walk(String text) {
+        Node<T> node = root;
+        for (int i = 0; i < text.length() && node != null; i++) {
+            int index = text.charAt(i) - 'a';
+            if (index < 0 || index >= ALPHABET_SIZE) {
+                return null;
+            }
+            node = node.children[index];
+        }
+        return node;
+    }
+
+    /**
+     * A command, shared by the nodes of its keyword and of its aliases.
+     */
+    private static class Entry<T> {
+        private final T value;
+
+        Entry(T value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * A node of the trie, which remembers the command that ends at it
+     * and the command below it if there is only one.
+     */
+    private static class Node<T> {
+        @SuppressWarnings("unchecked")
+        private final Node<T>[] children = (Node<T>[]) new Node<?>[ALPHABET_SIZE];
+        private Entry<T> entry;
+        private Entry<T> entryBelow;
+        private boolean isAmbiguous;
+
+        void addBelow(Entry<T> entry) {
+            if (entryBelow == null) {
+                entryBelow = entry;
+            } else if (entryBelow != entry) {
+                isAmbiguous = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package parser;
+
+import task.Deadline;
+import task.Task;
+
+/**
+ * The DeadlineCommand class is the "deadline" command, which adds a task that is due by a date,
+ * e.g. deadline return book /by 2024-10-15.
+ */
+public class DeadlineCommand extends AddTaskCommand {
+
+    @Override
+    public String getKeyword() {
+        return "deadline";
+    }
+
+    @Override
+    protected Task createTask(CommandLine commandLine) {
+        int by = commandLine.indexOf("/by", 1);
+        if (by <= 1 || by == commandLine.size() - 1) {
+            throw new IllegalArgumentException("Error saving task details: Invalid description or date.");
+        }
+
+        Deadline newDeadline = new Deadline();
+        newDeadline.setDescription(commandLine.join(1, by));
+        newDeadline.setDueTime(newDeadline.parseDate(commandLine.join(by + 1, commandLine.size())));
+        return newDeadline;
+    }
+}
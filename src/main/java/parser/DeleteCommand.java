@@ -0,0 +1,80 @@
+package parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import exceptions.InvalidInputException;
+import exceptions.TaskIndexOutOfBound;
+import storage.Storage;
+import task.Task;
+import task.TaskList;
+
+/**
+ * The DeleteCommand class is the "delete" command, which removes tasks from the task list.
+ * Several tasks can be selected at once with a list, a range or "all", see {@link TaskSelection}.
+ */
+public class DeleteCommand implements Command {
+
+    @Override
+    public String getKeyword() {
+        return "delete";
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+
+    @Override
+    public String execute(CommandLine commandLine, TaskList taskList, Storage storage)
+            throws InvalidInputException, TaskIndexOutOfBound {
+        String[] slicedStrings = commandLine.getWords();
+        if (slicedStrings.length < 2) {
+            throw new InvalidInputException("Please provide a task number to delete.");
+        }
+        if (!TaskSelection.isSingleTask(slicedStrings)) {
+            return executeBulk(slicedStrings, taskList, storage);
+        }
+
+        int taskIndex = TaskSelection.parseSingleIndex(slicedStrings);
+        Task deletedTask = taskList.getTask(taskIndex);
+        taskList.deleteTask(taskIndex);
+        storage.recordDeletion(taskIndex);
+        storage.saveCommands(getKeyword(), deletedTask, taskIndex);
+        return String.format("Noted. I've removed this task:\n%s\nNow you have %d tasks in the list",
+                TaskFormatter.formatTask(deletedTask), taskList.getTasks().size());
+    }
+
+    /**
+     * Deletes all selected tasks as one batch, which is undone as a single command.
+     */
+    private String executeBulk(String[] slicedStrings, TaskList taskList, Storage storage)
+            throws TaskIndexOutOfBound, InvalidInputException {
+        int[] selectedIndexes = TaskSelection.parseIndexes(slicedStrings, taskList);
+        if (selectedIndexes.length == 0) {
+            return "There are no tasks matching your selection.";
+        }
+
+        List<Task> deletedTasks = new ArrayList<>(selectedIndexes.length);
+        for (int index : selectedIndexes) {
+            deletedTasks.add(taskList.getTask(index));
+        }
+        taskList.deleteTasks(selectedIndexes);
+        for (int i = selectedIndexes.length - 1; i >= 0; i--) {
+            storage.recordDeletion(selectedIndexes[i]);
+        }
+        storage.saveCommands(getKeyword(), deletedTasks, selectedIndexes);
+        return String.format("Noted. I've removed these %d tasks:\n%s\nNow you have %d tasks in the list",
+                deletedTasks.size(), TaskFormatter.formatTasks(deletedTasks), taskList.getTasks().size());
+    }
+
+    /**
+     * Inserts the deleted task back at its original index.
+     * As the tasks are undone in ascending order, each lands where it was before the delete.
+     */
+    @Override
+    public void undo(Task task, int index, TaskList taskList, Storage storage) throws TaskIndexOutOfBound {
+        taskList.insertTask(index, task);
+        storage.recordInsertion(index, task);
+    }
+}
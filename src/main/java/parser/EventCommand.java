@@ -0,0 +1,31 @@
+package parser;
+
+import task.Event;
+import task.Task;
+
+/**
+ * The EventCommand class is the "event" command, which adds a task that takes place between two times,
+ * e.g. event project meeting /from 2024-10-15 1400 /to 2024-10-15 1600.
+ */
+public class EventCommand extends AddTaskCommand {
+
+    @Override
+    public String getKeyword() {
+        return "event";
+    }
+
+    @Override
+    protected Task createTask(CommandLine commandLine) {
+        int from = commandLine.indexOf("/from", 1);
+        int to = from < 0 ? -1 : commandLine.indexOf("/to", from + 1);
+        if (from <= 1 || to <= from + 1 || to == commandLine.size() - 1) {
+            throw new IllegalArgumentException("Error saving task details. Please enter a valid description or date.");
+        }
+
+        Event newEvent = new Event();
+        newEvent.setDescription(commandLine.join(1, from));
+        newEvent.setStartTime(newEvent.parseDateTime(commandLine.join(from + 1, to)));
+        newEvent.setEndTime(newEvent.parseDateTime(commandLine.join(to + 1, commandLine.size())));
+        return newEvent;
+    }
+}
@@ -0,0 +1,32 @@
+package parser;
+
+import exceptions.InvalidInputException;
+import storage.Storage;
+import task.TaskList;
+
+/**
+ * The FindCommand class is the "find" command, which shows the tasks whose description contains a keyword.
+ */
+public class FindCommand implements Command {
+
+    @Override
+    public String getKeyword() {
+        return "find";
+    }
+
+    @Override
+    public boolean isMutating() {
+        return false;
+    }
+
+    @Override
+    public String execute(CommandLine commandLine, TaskList taskList, Storage storage) throws InvalidInputException {
+        String[] slicedStrings = commandLine.getWords();
+        if (slicedStrings.length < 2) {
+            throw new InvalidInputException("Please indicate what you want to find.");
+        }
+
+        String keyword = slicedStrings[1];
+        return TaskFormatter.formatTaskList(taskList.findTasks(keyword));
+    }
+}
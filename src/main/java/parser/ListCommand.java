@@ -0,0 +1,25 @@
+package parser;
+
+import storage.Storage;
+import task.TaskList;
+
+/**
+ * The ListCommand class is the "list" command, which shows all tasks of the user.
+ */
+public class ListCommand implements Command {
+
+    @Override
+    public String getKeyword() {
+        return "list";
+    }
+
+    @Override
+    public boolean isMutating() {
+        return false;
+    }
+
+    @Override
+    public String execute(CommandLine commandLine, TaskList taskList, Storage storage) {
+        return TaskFormatter.formatTaskList(taskList.getTasks());
+    }
+}
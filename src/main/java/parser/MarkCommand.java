@@ -0,0 +1,114 @@
+package parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import exceptions.InvalidInputException;
+import exceptions.TaskIndexOutOfBound;
+import storage.Storage;
+import task.Task;
+import task.TaskList;
+
+/**
+ * The MarkCommand class is the "mark" or "unmark" command, which marks tasks as done or not done.
+ * Several tasks can be selected at once with a list, a range or "all", see {@link TaskSelection}.
+ */
+public class MarkCommand implements Command {
+
+    private final boolean isMarking;
+
+    /**
+     * Creates the "mark" or the "unmark" command.
+     *
+     * @param isMarking true for the command that marks tasks as done, false for the one that unmarks them.
+     */
+    public MarkCommand(boolean isMarking) {
+        this.isMarking = isMarking;
+    }
+
+    @Override
+    public String getKeyword() {
+        return isMarking ? "mark" : "unmark";
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+
+    @Override
+    public String execute(CommandLine commandLine, TaskList taskList, Storage storage)
+            throws InvalidInputException, TaskIndexOutOfBound {
+        String[] slicedStrings = commandLine.getWords();
+        if (slicedStrings.length < 2) {
+            throw new InvalidInputException("Please provide a task number to mark or unmark.");
+        }
+        if (!TaskSelection.isSingleTask(slicedStrings)) {
+            return executeBulk(slicedStrings, taskList, storage);
+        }
+
+        int taskIndex = TaskSelection.parseSingleIndex(slicedStrings);
+        if (isMarking) {
+            taskList.markTask(taskIndex);
+        } else {
+            taskList.unmarkTask(taskIndex);
+        }
+        storage.recordMarking(taskIndex, isMarking);
+        storage.saveCommands(getKeyword(), taskList.getTask(taskIndex), taskIndex);
+        return String.format(isMarking
+                        ? "OK, I've marked this task as done:\n%s"
+                        : "OK, I've marked this task as not done yet:\n%s",
+                TaskFormatter.formatTask(taskList.getTask(taskIndex)));
+    }
+
+    /**
+     * Marks or unmarks all selected tasks as one batch, which is undone as a single command.
+     * Only the tasks whose status actually changes are recorded for undo, and nothing is recorded
+     * if no status changes.
+     */
+    private String executeBulk(String[] slicedStrings, TaskList taskList, Storage storage)
+            throws TaskIndexOutOfBound, InvalidInputException {
+        int[] selectedIndexes = TaskSelection.parseIndexes(slicedStrings, taskList);
+        if (selectedIndexes.length == 0) {
+            return "There are no tasks matching your selection.";
+        }
+
+        List<Task> selectedTasks = new ArrayList<>(selectedIndexes.length);
+        List<Task> changedTasks = new ArrayList<>();
+        int[] changedIndexes = new int[selectedIndexes.length];
+        for (int index : selectedIndexes) {
+            Task task = taskList.getTask(index);
+            selectedTasks.add(task);
+            if (task.getIsDone() != isMarking) {
+                changedIndexes[changedTasks.size()] = index;
+                changedTasks.add(task);
+            }
+        }
+        changedIndexes = Arrays.copyOf(changedIndexes, changedTasks.size());
+
+        if (!changedTasks.isEmpty()) {
+            taskList.markTasks(changedIndexes, isMarking);
+            for (int index : changedIndexes) {
+                storage.recordMarking(index, isMarking);
+            }
+            // a command that changed nothing is not remembered, so undo goes back to the command before it
+            storage.saveCommands(getKeyword(), changedTasks, changedIndexes);
+        }
+        return String.format(isMarking
+                        ? "OK, I've marked these %d tasks as done:\n%s"
+                        : "OK, I've marked these %d tasks as not done yet:\n%s",
+                selectedTasks.size(), TaskFormatter.formatTasks(selectedTasks));
+    }
+
+    @Override
+    public void undo(Task task, int index, TaskList taskList, Storage storage) throws TaskIndexOutOfBound {
+        int currentIndex = taskList.indexOf(task, index);
+        if (isMarking) {
+            taskList.unmarkTaskById(task.getId());
+        } else {
+            taskList.markTaskById(task.getId());
+        }
+        storage.recordMarking(currentIndex, !isMarking);
+    }
+}
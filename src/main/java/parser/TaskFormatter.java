@@ -0,0 +1,47 @@
+package parser;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import task.Task;
+
+/**
+ * The TaskFormatter class formats tasks for the responses of the commands.
+ */
+class TaskFormatter {
+
+    /**
+     * Formats a task with its type and status, e.g. [T][X] read book.
+     *
+     * @param task The task.
+     * @return The task as it is shown to the user.
+     */
+    static String formatTask(Task task) {
+        return String.format("[%s][%s] %s", task.getType(), task.getStatusIcon(), task);
+    }
+
+    /**
+     * Formats tasks one per line.
+     *
+     * @param tasks The tasks.
+     * @return The tasks as they are shown to the user.
+     */
+    static String formatTasks(List<Task> tasks) {
+        return tasks.stream()
+                .map(TaskFormatter::formatTask)
+                .collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * Formats the tasks of the user as a list.
+     *
+     * @param tasks The tasks.
+     * @return The list of the tasks, or a message saying there are none.
+     */
+    static String formatTaskList(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return "Your task list is empty.";
+        }
+        return "Here are the tasks in your list:\n" + formatTasks(tasks);
+    }
+}
@@ -0,0 +1,137 @@
+package parser;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import exceptions.InvalidInputException;
+import exceptions.TaskIndexOutOfBound;
+import task.Deadline;
+import task.Task;
+import task.TaskList;
+
+/**
+ * The TaskSelection class parses the tasks a bulk command applies to.
+ * A selection is either a single task number, a list of task numbers and ranges separated by commas
+ * or spaces (e.g. 3,7,9 or 3 7 9 or 1-500), or "all", optionally followed by "/before [date]" to select only
+ * the deadlines and events that are due before the date.
+ */
+public class TaskSelection {
+
+    private static final String ALL = "all";
+    private static final String BEFORE = "/before";
+
+    /**
+     * Returns whether the user's input selects a single task by its number,
+     * in which case the command is handled as a single-task command.
+     *
+     * @param slicedStrings The user's input sliced Strings into an array.
+     * @return true if exactly one task number is given, false for lists, ranges and "all".
+     */
+    public static boolean isSingleTask(String[] slicedStrings) {
+        if (slicedStrings.length != 2) {
+            return false;
+        }
+        String selection = slicedStrings[1];
+        return !selection.equals(ALL) && selection.indexOf(',') < 0 && selection.indexOf('-', 1) < 0;
+    }
+
+    /**
+     * Parses the task number of a single-task command into the index of the task.
+     *
+     * @param slicedStrings The user's input sliced Strings into an array.
+     * @return The zero-based index of the task.
+     * @throws InvalidInputException if the task number is not an integer.
+     */
+    public static int parseSingleIndex(String[] slicedStrings) throws InvalidInputException {
+        try {
+            return Integer.parseInt(slicedStrings[1]) - 1;
+        } catch (NumberFormatException e) {
+            throw new InvalidInputException("The task number should be a valid integer.");
+        }
+    }
+
+    /**
+     * Parses the selection in the user's input into the indexes of the selected tasks.
+     *
+     * @param slicedStrings The user's input sliced Strings into an array.
+     * @param taskList The task list containing all tasks.
+     * @return The zero-based indexes of the selected tasks, in ascending order and without duplicates.
+     * @throws InvalidInputException if the selection is malformed.
+     * @throws TaskIndexOutOfBound if a selected task number does not exist.
+     */
+    public static int[] parseIndexes(String[] slicedStrings, TaskList taskList)
+            throws InvalidInputException, TaskIndexOutOfBound {
+        List<Task> tasks = taskList.getTasks();
+        if (slicedStrings[1].equals(ALL)) {
+            return parseAll(slicedStrings, tasks);
+        }
+
+        BitSet selected = new BitSet(tasks.size());
+        boolean hasTaskNumber = false;
+        for (int i = 1; i < slicedStrings.length; i++) {
+            for (String item : slicedStrings[i].split(",")) {
+                if (item.isEmpty()) {
+                    continue;
+                }
+                int dash = item.indexOf('-', 1);
+                int from = parseTaskNumber(dash < 0 ? item : item.substring(0, dash), tasks.size());
+                int to = dash < 0 ? from : parseTaskNumber(item.substring(dash + 1), tasks.size());
+                if (from > to) {
+                    throw new InvalidInputException("The range of task numbers should go from the smaller number!");
+                }
+                selected.set(from - 1, to);
+                hasTaskNumber = true;
+            }
+        }
+        if (!hasTaskNumber) {
+            throw new InvalidInputException("Please provide the numbers of the tasks.");
+        }
+        return selected.stream().toArray();
+    }
+
+    private static int[] parseAll(String[] slicedStrings, List<Task> tasks) throws InvalidInputException {
+        if (slicedStrings.length == 2) {
+            int[] indexes = new int[tasks.size()];
+            for (int i = 0; i < indexes.length; i++) {
+                indexes[i] = i;
+            }
+            return indexes;
+        }
+        if (slicedStrings.length < 4 || !slicedStrings[2].equals(BEFORE)) {
+            throw new InvalidInputException("The format for selecting every task is "
+                    + slicedStrings[0] + " all or " + slicedStrings[0] + " all /before [date]!");
+        }
+
+        LocalDate date;
+        try {
+            date = new Deadline().parseDate(
+                    String.join(" ", Arrays.copyOfRange(slicedStrings, 3, slicedStrings.length)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException(e.getMessage());
+        }
+        BitSet selected = new BitSet(tasks.size());
+        int index = 0;
+        for (Task task : tasks) {
+            if (task.isDueBefore(date)) {
+                selected.set(index);
+            }
+            index++;
+        }
+        return selected.stream().toArray();
+    }
+
+    private static int parseTaskNumber(String text, int taskCount) throws InvalidInputException, TaskIndexOutOfBound {
+        int taskNumber;
+        try {
+            taskNumber = Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new InvalidInputException("The task number should be a valid integer.");
+        }
+        if (taskNumber < 1 || taskNumber > taskCount) {
+            throw new TaskIndexOutOfBound();
+        }
+        return taskNumber;
+    }
+}
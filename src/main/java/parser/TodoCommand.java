@@ -0,0 +1,22 @@
+package parser;
+
+import task.Task;
+import task.Todo;
+
+/**
+ * The TodoCommand class is the "todo" command, which adds a task without a date, e.g. todo read book.
+ */
+public class TodoCommand extends AddTaskCommand {
+
+    @Override
+    public String getKeyword() {
+        return "todo";
+    }
+
+    @Override
+    protected Task createTask(CommandLine commandLine) {
+        Todo newTodo = new Todo();
+        newTodo.setDescription(commandLine.join(1, commandLine.size()));
+        return newTodo;
+    }
+}
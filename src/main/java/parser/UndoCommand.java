@@ -0,0 +1,103 @@
+package parser;
+
+import java.util.List;
+
+import exceptions.InvalidInputException;
+import exceptions.NoLastCommandToUndo;
+import exceptions.TaskIndexOutOfBound;
+import storage.Storage;
+import task.Task;
+import task.TaskList;
+import undo.CommandRecord;
+
+/**
+ * The UndoCommand class is the "undo" command, which undoes the last commands that changed the tasks.
+ * The user can enter how many commands to undo, e.g. undo 3, and each command is undone
+ * by the command that made it, as found in the registry.
+ */
+public class UndoCommand implements Command {
+
+    private final CommandRegistry registry;
+
+    /**
+     * Creates the "undo" command.
+     *
+     * @param registry The commands, used to find the command that made each change.
+     */
+    public UndoCommand(CommandRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public String getKeyword() {
+        return "undo";
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+
+    @Override
+    public String execute(CommandLine commandLine, TaskList taskList, Storage storage)
+            throws InvalidInputException, TaskIndexOutOfBound {
+        String[] slicedStrings = commandLine.getWords();
+        if (slicedStrings.length > 2) {
+            throw new InvalidInputException("The format for undo command is undo or undo [number]!");
+        }
+
+        if (slicedStrings.length < 2) {
+            // handles the default situation
+            undoCommand(lastCommand(storage), taskList, storage);
+            return "The previous command has been undone";
+        }
+
+        int numberOfTimesToUndo = getNumberOfTimesToUndo(slicedStrings, storage);
+        for (int i = 1; i <= numberOfTimesToUndo; i++) {
+            undoCommand(lastCommand(storage), taskList, storage);
+        }
+        return "The previous commands have been undone";
+    }
+
+    /**
+     * Takes the last command off the undo stack, failing the undo if there is none.
+     */
+    private static CommandRecord lastCommand(Storage storage) throws InvalidInputException {
+        try {
+            return storage.lastCommand();
+        } catch (NoLastCommandToUndo e) {
+            throw new InvalidInputException(e.getMessage());
+        }
+    }
+
+    private static int getNumberOfTimesToUndo(String[] slicedStrings, Storage storage) throws InvalidInputException {
+        int numberOfTimesToUndo;
+        try {
+            numberOfTimesToUndo = Integer.parseInt(slicedStrings[1]);
+        } catch (NumberFormatException e) {
+            throw new InvalidInputException("The task number should be a valid integer.");
+        }
+        if (numberOfTimesToUndo > storage.getCommandsSize()) {
+            throw new InvalidInputException("The number of times "
+                    + "you want to undo exceeds the total number of command entries!");
+        }
+        if (numberOfTimesToUndo <= 0) {
+            throw new InvalidInputException("The number of times "
+                    + "you want to undo is invalid!");
+        }
+        return numberOfTimesToUndo;
+    }
+
+    private void undoCommand(CommandRecord lastCommand, TaskList taskList, Storage storage)
+            throws TaskIndexOutOfBound {
+        Command command = registry.find(lastCommand.getCommand());
+        if (command == null) {
+            return;
+        }
+        List<Task> tasks = lastCommand.getTasks();
+        int[] indexes = lastCommand.getIndexes();
+        for (int i = 0; i < tasks.size(); i++) {
+            command.undo(tasks.get(i), indexes[i], taskList, storage);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import task.Deadline;
+import task.Event;
+import task.Task;
+import task.Todo;
+
+/**
+ * The BinaryTaskCodec class reads and writes tasks in a compact binary format,
+ * which is used for task files ending in ".bin".
+ * The file starts with a magic number and a version byte. Each task is then stored as
+ * a type byte, a done flag, a length-prefixed UTF-8 description and, for deadlines and events,
+ * its dates as an epoch day or epoch seconds, so no date strings have to be formatted or parsed.
+ */
+public class BinaryTaskCodec {
+
+    /** The file extension that selects the binary format. */
+    public static final String EXTENSION = ".bin";
+
+    private static final int MAGIC = 0x4342544B; // "CBTK"
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = 5;
+
+    /**
+     * Returns whether the file at the given path is stored in the binary format.
+     *
+     * @param filePath The path to the task file.
+     * @return true if the file name ends in ".bin", false otherwise.
+     */
+    public static boolean isBinaryFile(String filePath) {
+        return filePath.endsWith(EXTENSION);
+    }
+
+    /**
+     * Encodes a list of tasks in the binary format.
+     *
+     * @param tasks The tasks to encode.
+     * @return The encoded tasks.
+     */
+    public static byte[] encode(List<Task> tasks) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_SIZE + tasks.size() * 32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            for (Task task : tasks) {
+                out.writeByte(task.getType().charAt(0));
+                out.writeBoolean(task.getIsDone());
+                byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(description.length);
+                out.write(description);
+                if (task instanceof Deadline) {
+                    out.writeLong(((Deadline) task).getDueTime().toEpochDay());
+                } else if (task instanceof Event) {
+                    out.writeLong(((Event) task).getStartTime().toEpochSecond(ZoneOffset.UTC));
+                    out.writeLong(((Event) task).getEndTime().toEpochSecond(ZoneOffset.UTC));
+                }
+            }
+        } catch (IOException e) {
+            // writing to a ByteArrayOutputStream never fails
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes the tasks in a buffer holding a file in the binary format.
+     * An empty buffer holds no tasks.
+     *
+     * @param data The contents of the task file.
+     * @return The list of tasks in the file.
+     * @throws IOException if the buffer does not hold a supported binary task file, or the file is corrupt
+     *     or truncated.
+     */
+    public static ArrayList<Task> decode(ByteBuffer data) throws IOException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        ByteBuffer in = data.duplicate();
+        if (!in.hasRemaining()) {
+            return tasks;
+        }
+        if (in.remaining() < HEADER_SIZE || in.getInt() != MAGIC || in.get() != VERSION) {
+            throw new IOException("Unsupported task file format");
+        }
+
+        try {
+            decodeTasks(in, tasks);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("The task file ends in the middle of task " + (tasks.size() + 1), e);
+        } catch (DateTimeException e) {
+            throw new IOException("Invalid date of task " + (tasks.size() + 1) + " in task file", e);
+        }
+        return tasks;
+    }
+
+    private static void decodeTasks(ByteBuffer in, ArrayList<Task> tasks) throws IOException {
+        byte[] description = new byte[64];
+        while (in.hasRemaining()) {
+            Task task = createTask((char) in.get());
+            task.setMarkStatus(in.get() != 0);
+            int length = in.getInt();
+            if (length < 0 || length > in.remaining()) {
+                throw new IOException("Invalid description length of task " + (tasks.size() + 1) + " in task file");
+            }
+            if (description.length < length) {
+                description = new byte[Math.max(length, description.length * 2)];
+            }
+            in.get(description, 0, length);
+            task.setDescription(new String(description, 0, length, StandardCharsets.UTF_8));
+            if (task instanceof Deadline) {
+                ((Deadline) task).setDueTime(LocalDate.ofEpochDay(in.getLong()));
+            } else if (task instanceof Event) {
+                ((Event) task).setStartTime(LocalDateTime.ofEpochSecond(in.getLong(), 0, ZoneOffset.UTC));
+                ((Event) task).setEndTime(LocalDateTime.ofEpochSecond(in.getLong(), 0, ZoneOffset.UTC));
+            }
+            tasks.add(task);
+        }
+    }
+
+    private static Task createTask(char type) throws IOException {
+        switch (type) {
+        case 'T':
+            return new Todo();
+        case 'D':
+            return new Deadline();
+        case 'E':
+            return new Event();
+        default:
+            throw new IOException("Unknown task type in task file: " + type);
+        }
+    }
+
+    /**
+     * Converts a task file from the text format to the binary format or back,
+     * depending on which of the two paths ends in ".bin".
+     *
+     * @param source The path of the file to convert.
+     * @param target The path of the converted file.
+     * @throws IOException if there's an error reading or writing the files.
+     */
+    public static void convert(Path source, Path target) throws IOException {
+        ByteBuffer data = TaskFileReader.read(source);
+        List<Task> tasks = isBinaryFile(source.toString())
+                ? decode(data)
+                : new TaskFileReader(Charset.defaultCharset()).readTasksInParallel(data);
+
+        if (isBinaryFile(target.toString())) {
+            Files.write(target, encode(tasks));
+        } else {
+            StringBuilder sb = new StringBuilder();
+            for (Task task : tasks) {
+                sb.append(task.toSavedFormat(" | ")).append("\n");
+            }
+            Files.write(target, sb.toString().getBytes(Charset.defaultCharset()));
+        }
+    }
+
+    /**
+     * Converts a task file between the text and binary formats from the command line.
+     *
+     * @param args The path of the file to convert, followed by the path of the converted file.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("Usage: BinaryTaskCodec <source file> <target file>");
+            return;
+        }
+        convert(Path.of(args[0]), Path.of(args[1]));
+    }
+}
@@ -0,0 +1,490 @@
+package storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import parser.Parser;
+import task.Task;
+
+/**
+ * The Journal class is an append-only log of task mutations kept next to the task file.
+ * Every mutating command adds a single line to the journal instead of rewriting the whole task file,
+ * and the journal is replayed on top of the task file when the tasks are loaded.
+ * The first line of the journal holds the checksum of the task file it applies to,
+ * so a journal that belongs to an older task file is never replayed.
+ * The journal is shared with the background compaction, so all of its methods are synchronized.
+ */
+public class Journal {
+
+    private static final String SEPARATION = " | ";
+    private static final String SEPARATION_REGEX = " \\| ";
+    private static final String HEADER_PREFIX = "# ";
+    private static final String ADD = "add";
+    private static final String INSERT = "insert";
+    private static final String DELETE = "delete";
+    private static final String MARK = "mark";
+    private static final String UNMARK = "unmark";
+    private static final int DEFAULT_MAX_RECORDS = 1000;
+    private static final long DEFAULT_MAX_BYTES = 1024 * 1024;
+
+    private final Path journalPath;
+    private final Path rebasedJournalPath;
+    private final StorageMetrics metrics;
+    private final List<String> pendingRecords = new ArrayList<>();
+    private int savedRecordCount;
+    private String baseChecksum;
+    private int expectedTaskCount;
+    private int recordCount;
+    private long sizeInBytes;
+    private boolean isHeaderWritten;
+    private int epoch;
+    private int maxRecords = DEFAULT_MAX_RECORDS;
+    private long maxBytes = DEFAULT_MAX_BYTES;
+    private String rebasedChecksum;
+    private int rebasedRecordCount;
+    private long rebasedSizeInBytes;
+
+    /**
+     * Initializes the Journal with the path of the journal file.
+     *
+     * @param journalPath The path to the journal file.
+     */
+    public Journal(String journalPath) {
+        this(journalPath, new StorageMetrics());
+    }
+
+    /**
+     * Initializes the Journal with the path of the journal file, counting its reads and writes in the given metrics.
+     *
+     * @param journalPath The path to the journal file.
+     * @param metrics The metrics of the storage the journal belongs to.
+     */
+    public Journal(String journalPath, StorageMetrics metrics) {
+        this.journalPath = Path.of(journalPath);
+        this.rebasedJournalPath = Path.of(journalPath + ".tmp");
+        this.metrics = metrics;
+    }
+
+    /**
+     * Records that a task has been appended to the end of the task list.
+     *
+     * @param task The task that was added.
+     */
+    public synchronized void recordAdd(Task task) {
+        pendingRecords.add(ADD + SEPARATION + task.toSavedFormat(SEPARATION));
+        expectedTaskCount++;
+    }
+
+    /**
+     * Records that a task has been inserted into the task list at the given index.
+     *
+     * @param index The zero-based index the task was inserted at.
+     * @param task The task that was inserted.
+     */
+    public synchronized void recordInsert(int index, Task task) {
+        pendingRecords.add(INSERT + SEPARATION + index + SEPARATION + task.toSavedFormat(SEPARATION));
+        expectedTaskCount++;
+    }
+
+    /**
+     * Records that the task at the given index has been removed from the task list.
+     *
+     * @param index The zero-based index of the deleted task.
+     */
+    public synchronized void recordDelete(int index) {
+        pendingRecords.add(DELETE + SEPARATION + index);
+        expectedTaskCount--;
+    }
+
+    /**
+     * Records that the task at the given index has been marked or unmarked.
+     *
+     * @param index The zero-based index of the task.
+     * @param isDone Whether the task is now done.
+     */
+    public synchronized void recordMark(int index, boolean isDone) {
+        pendingRecords.add((isDone ? MARK : UNMARK) + SEPARATION + index);
+    }
+
+    /**
+     * Returns whether the journal can describe a task list of the given size,
+     * i.e. whether appending the pending records is enough to persist it.
+     *
+     * @param taskCount The number of tasks currently in the task list.
+     * @return true if the pending records bring the task file up to date, false if a full rewrite is needed.
+     */
+    public synchronized boolean isInSyncWith(int taskCount) {
+        return baseChecksum != null && taskCount == expectedTaskCount;
+    }
+
+    /**
+     * Marks the pending records as saved, so they are kept when the unsaved records are discarded.
+     */
+    public synchronized void markPendingRecordsSaved() {
+        savedRecordCount = pendingRecords.size();
+    }
+
+    /**
+     * Discards the pending records that have not been saved, so they are never written to the journal file.
+     */
+    public synchronized void discardUnsavedRecords() {
+        List<String> unsavedRecords = pendingRecords.subList(savedRecordCount, pendingRecords.size());
+        for (String unsavedRecord : unsavedRecords) {
+            if (unsavedRecord.startsWith(ADD + SEPARATION) || unsavedRecord.startsWith(INSERT + SEPARATION)) {
+                expectedTaskCount--;
+            } else if (unsavedRecord.startsWith(DELETE + SEPARATION)) {
+                expectedTaskCount++;
+            }
+        }
+        unsavedRecords.clear();
+    }
+
+    public synchronized boolean hasPendingRecords() {
+        return !pendingRecords.isEmpty();
+    }
+
+    public synchronized int getRecordCount() {
+        return recordCount;
+    }
+
+    public synchronized long getSize() {
+        return sizeInBytes;
+    }
+
+    /**
+     * Returns a number that changes every time the journal starts over on top of a new task file.
+     *
+     * @return The current epoch of the journal.
+     */
+    public synchronized int getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Sets how large the journal may grow before it should be folded into the task file.
+     *
+     * @param maxRecords The maximum number of records in the journal.
+     * @param maxBytes The maximum size of the journal file in bytes.
+     */
+    public synchronized void setCompactionThreshold(int maxRecords, long maxBytes) {
+        this.maxRecords = maxRecords;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns whether the journal has grown past its threshold and should be folded into the task file.
+     *
+     * @return true if the journal should be compacted, false otherwise.
+     */
+    public synchronized boolean needsCompaction() {
+        return baseChecksum != null && (recordCount >= maxRecords || sizeInBytes >= maxBytes);
+    }
+
+    /**
+     * Appends all pending records to the journal file in a single write.
+     *
+     * @param isForced Whether to wait until the records have reached the disk.
+     * @throws IOException if there's an error writing to the journal file.
+     */
+    public synchronized void flush(boolean isForced) throws IOException {
+        flushRecords(pendingRecords.size(), isForced);
+    }
+
+    /**
+     * Appends the pending records that have been saved to the journal file in a single write.
+     * The records of changes that have not been saved yet are kept pending, so they can still be discarded.
+     *
+     * @param isForced Whether to wait until the records have reached the disk.
+     * @throws IOException if there's an error writing to the journal file.
+     */
+    public synchronized void flushSavedRecords(boolean isForced) throws IOException {
+        flushRecords(savedRecordCount, isForced);
+    }
+
+    private void flushRecords(int count, boolean isForced) throws IOException {
+        if (count == 0) {
+            return;
+        }
+        List<String> flushedRecords = pendingRecords.subList(0, count);
+        StringBuilder sb = new StringBuilder();
+        if (!isHeaderWritten) {
+            sb.append(HEADER_PREFIX).append(baseChecksum).append("\n");
+        }
+        for (String pendingRecord : flushedRecords) {
+            sb.append(pendingRecord).append("\n");
+        }
+
+        StandardOpenOption mode = isHeaderWritten ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING;
+        byte[] data = sb.toString().getBytes(StandardCharsets.UTF_8);
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, mode)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (isForced) {
+                long fsyncStart = System.nanoTime();
+                channel.force(false);
+                metrics.recordFsync(System.nanoTime() - fsyncStart);
+            }
+        } catch (IOException e) {
+            metrics.recordFailure();
+            throw e;
+        }
+        metrics.recordFlush(data.length, System.nanoTime() - start);
+        sizeInBytes = isHeaderWritten ? sizeInBytes + data.length : data.length;
+        isHeaderWritten = true;
+        recordCount += count;
+        flushedRecords.clear();
+        savedRecordCount = Math.max(savedRecordCount - count, 0);
+    }
+
+    /**
+     * Starts a new, empty journal on top of a freshly written task file.
+     * The old journal file is removed since its records are already part of the task file.
+     *
+     * @param checksum The checksum of the task file the journal now applies to.
+     * @param taskCount The number of tasks in that task file.
+     * @throws IOException if the old journal file cannot be removed.
+     */
+    public synchronized void reset(String checksum, int taskCount) throws IOException {
+        baseChecksum = checksum;
+        expectedTaskCount = taskCount;
+        recordCount = 0;
+        sizeInBytes = 0;
+        isHeaderWritten = false;
+        epoch++;
+        pendingRecords.clear();
+        savedRecordCount = 0;
+        Files.deleteIfExists(journalPath);
+        Files.deleteIfExists(rebasedJournalPath);
+    }
+
+    /**
+     * Prepares the journal to continue on top of a compacted task file.
+     * The records written after the given offset are not part of the compacted task file,
+     * so they are copied into a new journal file that applies to it.
+     * The new journal file is forced to the disk, and only replaces the current one in {@link #commitRebase()},
+     * after the compacted task file has been moved into place.
+     *
+     * @param checksum The checksum of the compacted task file.
+     * @param offset The size of the journal at the point the compacted tasks were taken.
+     * @throws IOException if there's an error reading or writing the journal files.
+     */
+    public synchronized void prepareRebase(String checksum, long offset) throws IOException {
+        byte[] header = (HEADER_PREFIX + checksum + "\n").getBytes(StandardCharsets.UTF_8);
+        ByteBuffer tail = ByteBuffer.allocate((int) (sizeInBytes - offset));
+        try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.READ)) {
+            while (tail.hasRemaining() && channel.read(tail, offset + tail.position()) >= 0) {
+                // keeps reading until the whole tail has been copied
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(rebasedJournalPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer[] buffers = {ByteBuffer.wrap(header), ByteBuffer.wrap(tail.array(), 0, tail.position())};
+            while (buffers[0].hasRemaining() || buffers[1].hasRemaining()) {
+                channel.write(buffers);
+            }
+            // the carried-over records may already have been acknowledged as durable
+            long fsyncStart = System.nanoTime();
+            channel.force(true);
+            metrics.recordFsync(System.nanoTime() - fsyncStart);
+        }
+        metrics.recordRead(tail.position());
+        metrics.recordWrite(header.length + tail.position());
+
+        int carriedRecords = 0;
+        for (int i = 0; i < tail.position(); i++) {
+            if (tail.get(i) == '\n') {
+                carriedRecords++;
+            }
+        }
+        rebasedChecksum = checksum;
+        rebasedRecordCount = carriedRecords;
+        rebasedSizeInBytes = header.length + tail.position();
+    }
+
+    /**
+     * Replaces the journal with the one prepared in {@link #prepareRebase(String, long)},
+     * and forces the rename to the disk.
+     *
+     * @throws IOException if the new journal file cannot be moved into place.
+     */
+    public synchronized void commitRebase() throws IOException {
+        moveAtomically(rebasedJournalPath, journalPath);
+        syncDirectory(journalPath);
+        baseChecksum = rebasedChecksum;
+        recordCount = rebasedRecordCount;
+        sizeInBytes = rebasedSizeInBytes;
+        isHeaderWritten = true;
+        epoch++;
+    }
+
+    /**
+     * Moves a file over another one, atomically if the file system supports it.
+     *
+     * @param source The file to move.
+     * @param target The file to replace.
+     * @throws IOException if the file cannot be moved.
+     */
+    static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Forces the entries of the directory holding a file to the disk, so that a file moved or created
+     * in it is still there after a crash. File systems that cannot open a directory, such as those on
+     * Windows, keep their entries durable on their own, so failing to open it is ignored.
+     *
+     * @param path A file in the directory.
+     */
+    static void syncDirectory(Path path) {
+        Path directory = path.toAbsolutePath().getParent();
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // the directory cannot be synced on this file system
+        }
+    }
+
+    /**
+     * Replays the journal on top of the tasks loaded from the task file.
+     * If the journal is missing, belongs to another task file or ends in a damaged record,
+     * only the valid records are applied and the next save rewrites the task file.
+     *
+     * @param tasks The tasks loaded from the task file, which are updated in place.
+     * @param snapshotChecksum The checksum of the task file the tasks were loaded from.
+     */
+    public synchronized void replay(ArrayList<Task> tasks, String snapshotChecksum) {
+        baseChecksum = snapshotChecksum;
+        recordCount = 0;
+        sizeInBytes = 0;
+        isHeaderWritten = false;
+        pendingRecords.clear();
+        savedRecordCount = 0;
+        expectedTaskCount = tasks.size();
+
+        String header = HEADER_PREFIX + snapshotChecksum;
+        byte[] data;
+        try {
+            data = readJournal(journalPath, header);
+            if (data == null) {
+                // the task file was compacted but the new journal was not moved into place yet
+                data = readJournal(rebasedJournalPath, header);
+                if (data == null) {
+                    return;
+                }
+                moveAtomically(rebasedJournalPath, journalPath);
+            } else {
+                Files.deleteIfExists(rebasedJournalPath);
+            }
+        } catch (IOException e) {
+            System.out.println("Error: Unable to read journal at " + journalPath);
+            metrics.recordFailure();
+            baseChecksum = null;
+            return;
+        }
+        metrics.recordRead(data.length);
+
+        String[] lines = new String(data, StandardCharsets.UTF_8).split("\n");
+
+        // a record without its trailing newline was cut off while being written
+        boolean isIntact = data[data.length - 1] == '\n';
+        int completeLines = isIntact ? lines.length : lines.length - 1;
+        for (int i = 1; i < completeLines; i++) {
+            if (!applyRecord(lines[i], tasks)) {
+                isIntact = false;
+                break;
+            }
+            recordCount++;
+        }
+
+        expectedTaskCount = tasks.size();
+        if (isIntact) {
+            sizeInBytes = data.length;
+            isHeaderWritten = true;
+        } else {
+            System.out.println("Error: Journal at " + journalPath + " is damaged, the task file will be rewritten.");
+            baseChecksum = null;
+        }
+    }
+
+    /**
+     * Reads a journal file if it applies to the task file with the given header.
+     *
+     * @return The contents of the journal file, or null if it is missing or belongs to another task file.
+     */
+    private static byte[] readJournal(Path path, String header) throws IOException {
+        byte[] data;
+        try {
+            data = Files.readAllBytes(path);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        String firstLine = new String(data, 0, Math.min(data.length, header.length() + 1), StandardCharsets.UTF_8);
+        return firstLine.equals(header + "\n") ? data : null;
+    }
+
+    /**
+     * Applies a single journal record to the task list.
+     *
+     * @return true if the record was valid and applied, false otherwise.
+     */
+    private static boolean applyRecord(String line, ArrayList<Task> tasks) {
+        String[] recordParts = line.split(SEPARATION_REGEX, 2);
+        if (recordParts.length < 2) {
+            return false;
+        }
+
+        try {
+            switch (recordParts[0]) {
+            case ADD:
+                Task task = Parser.parseSavedData(recordParts[1].split(SEPARATION_REGEX));
+                if (task == null) {
+                    return false;
+                }
+                tasks.add(task);
+                return true;
+            case INSERT:
+                String[] insertParts = recordParts[1].split(SEPARATION_REGEX, 2);
+                Task insertedTask = insertParts.length < 2
+                        ? null
+                        : Parser.parseSavedData(insertParts[1].split(SEPARATION_REGEX));
+                if (insertedTask == null) {
+                    return false;
+                }
+                tasks.add(Integer.parseInt(insertParts[0]), insertedTask);
+                return true;
+            case DELETE:
+                tasks.remove(Integer.parseInt(recordParts[1]));
+                return true;
+            case MARK:
+                tasks.get(Integer.parseInt(recordParts[1])).setMarkStatus(true);
+                return true;
+            case UNMARK:
+                tasks.get(Integer.parseInt(recordParts[1])).setMarkStatus(false);
+                return true;
+            default:
+                return false;
+            }
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
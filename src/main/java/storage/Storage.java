@@ -2,31 +2,75 @@ package storage;
 
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
-import java.util.Map;
-import java.util.Scanner;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
 
 import exceptions.NoLastCommandToUndo;
 import task.Task;
+import undo.CommandRecord;
+import undo.UndoStack;
 
 /**
  * Manages saving and loading tasks from a file.
+ * Every read and write is counted in the {@link StorageMetrics} of the storage.
  */
 public class Storage {
 
+    private static final String SEPARATION = " | ";
+    private static final Logger LOGGER = Logger.getLogger(Storage.class.getName());
+
     private final String filePath;
-    private final Map<String, Task> commands = new LinkedHashMap<>();
+    private final boolean isBinary;
+    private final Journal journal;
+    private final StorageMetrics metrics = new StorageMetrics();
+    private ScheduledExecutorService metricsLogExecutor;
+    private UndoStack undoStack = new UndoStack();
+    private ExecutorService compactionExecutor;
+    private Future<?> compaction;
+    private ScheduledExecutorService flushExecutor;
+    private long flushWindowMillis;
+    private int maxBatchSize;
+    private int unflushedSaves;
+    private ScheduledFuture<?> scheduledFlush;
+    private volatile IOException flushFailure;
 
     /**
      * Initializes the Storage object with the specified file path.
+     * Every save rewrites the whole file.
      * @param filePath The path to the storage file.
      */
     public Storage(String filePath) {
+        this(filePath, false);
+    }
+
+    /**
+     * Initializes the Storage object with the specified file path.
+     * In journaled mode, changes are appended to a journal file next to the storage file
+     * instead of rewriting every task on each save.
+     * Files ending in ".bin" are stored in the binary format of {@link BinaryTaskCodec}.
+     * @param filePath The path to the storage file.
+     * @param isJournaled Whether changes should be journaled instead of rewriting the file.
+     */
+    public Storage(String filePath, boolean isJournaled) {
         this.filePath = filePath;
+        this.isBinary = BinaryTaskCodec.isBinaryFile(filePath);
+        this.journal = isJournaled ? new Journal(filePath + ".journal", metrics) : null;
         ensureFileIsAccessible();
     }
 
@@ -57,65 +101,423 @@ public class Storage {
 
     /**
      * Loads tasks from the file.
+     * In journaled mode, the journal is replayed on top of the tasks in the file.
+     * The time spent reading, parsing and replaying is recorded in the metrics.
      * @return The list of tasks loaded from the file.
-     * @throws FileNotFoundException if the file is not found.
+     * @throws FileNotFoundException if the file cannot be read.
+     * @throws IOException if the file is a corrupt or truncated binary task file.
      */
-    public ArrayList<Task> loadTasks() throws FileNotFoundException {
-        ArrayList<Task> taskList = new ArrayList<>();
-        File dataSaved = new File(filePath);
-        Scanner scanner = new Scanner(dataSaved);
-
-        while (scanner.hasNext()) {
-            String[] dataArr = scanner.nextLine().split(" \\| ");
-            Task newTask = parser.Parser.parseSavedData(dataArr); // Assumes parseSavedData parses the saved data
-            taskList.add(newTask);
+    public ArrayList<Task> loadTasks() throws IOException {
+        long start = System.nanoTime();
+        ByteBuffer data;
+        try {
+            data = TaskFileReader.read(Path.of(filePath));
+        } catch (IOException e) {
+            metrics.recordFailure();
+            throw new FileNotFoundException("Unable to read " + filePath);
         }
+        metrics.recordRead(data.remaining());
 
+        long read = System.nanoTime();
+        ArrayList<Task> taskList;
+        try {
+            taskList = isBinary
+                    ? BinaryTaskCodec.decode(data)
+                    : new TaskFileReader(Charset.defaultCharset()).readTasksInParallel(data);
+        } catch (IOException e) {
+            metrics.recordFailure();
+            throw e;
+        }
+        long parsed = System.nanoTime();
+        if (journal != null) {
+            journal.replay(taskList, computeChecksum(data));
+        }
+        metrics.recordLoad(read - start, parsed - read, System.nanoTime() - parsed);
         return taskList;
     }
 
     /**
      * Saves the current task list to the file.
+     * In journaled mode, only the changes recorded since the last save are appended to the journal,
+     * unless the journal cannot describe the task list, in which case the file is rewritten.
+     * With asynchronous flushing enabled, the changes are appended later by the writer thread.
      * @param taskList The list of tasks to save.
-     * @throws IOException if there's an error writing to the file.
+     * @throws IOException if there's an error writing to the file,
+     *     or if an earlier asynchronous flush has failed.
+     */
+    public void saveTasks(List<Task> taskList) throws IOException {
+        if (journal == null) {
+            writeFile(Path.of(filePath), toSavedBytes(taskList), false);
+            return;
+        }
+
+        throwFlushFailure();
+        if (!journal.isInSyncWith(taskList.size())) {
+            cancelScheduledFlush();
+            writeSnapshot(taskList);
+        } else if (flushExecutor != null && !journal.needsCompaction()) {
+            journal.markPendingRecordsSaved();
+            scheduleFlush();
+        } else {
+            flush();
+            compactInBackgroundIfNeeded(taskList);
+        }
+    }
+
+    /**
+     * Enables asynchronous flushing of the journal. Saves then return immediately, and a single writer
+     * thread appends the changes of all saves made within the flush window in one write,
+     * followed by a single sync to the disk. Pending changes are also flushed when the JVM shuts down.
+     * This has no effect unless the storage is journaled.
+     * @param flushWindowMillis How long to wait for more changes before flushing, in milliseconds.
+     * @param maxBatchSize The number of saves after which the changes are flushed without waiting.
+     */
+    public void enableAsyncFlush(long flushWindowMillis, int maxBatchSize) {
+        if (journal == null || flushExecutor != null) {
+            return;
+        }
+        this.flushWindowMillis = flushWindowMillis;
+        this.maxBatchSize = maxBatchSize;
+        flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "storage-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close));
+    }
+
+    private synchronized void scheduleFlush() {
+        unflushedSaves++;
+        if (unflushedSaves >= maxBatchSize) {
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+            }
+            scheduledFlush = flushExecutor.schedule(this::flushInBackground, 0, TimeUnit.MILLISECONDS);
+        } else if (scheduledFlush == null) {
+            scheduledFlush = flushExecutor.schedule(this::flushInBackground, flushWindowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flushInBackground() {
+        synchronized (this) {
+            unflushedSaves = 0;
+            scheduledFlush = null;
+        }
+        try {
+            journal.flushSavedRecords(true);
+        } catch (IOException e) {
+            System.out.println("Error: Unable to write journal for " + filePath);
+            flushFailure = e;
+        }
+    }
+
+    private void throwFlushFailure() throws IOException {
+        IOException failure = flushFailure;
+        if (failure != null) {
+            flushFailure = null;
+            throw failure;
+        }
+    }
+
+    /**
+     * Writes all changes that have been saved but not yet written to the journal.
+     * @throws IOException if there's an error writing to the journal,
+     *     or if an earlier asynchronous flush has failed.
      */
-    public void saveTasks(ArrayList<Task> taskList) throws IOException {
-        String separation = " | ";
-        FileWriter fw = new FileWriter(filePath);
+    public void flush() throws IOException {
+        if (journal == null) {
+            return;
+        }
+        cancelScheduledFlush();
+        journal.flush(flushExecutor != null);
+        throwFlushFailure();
+    }
+
+    private synchronized void cancelScheduledFlush() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        unflushedSaves = 0;
+    }
+
+    /**
+     * Discards the changes recorded since the last save, so they are never written to the journal,
+     * even when the pending changes are flushed on shutdown. The commands that could be undone
+     * are forgotten as well, as they may refer to the discarded changes.
+     */
+    public void discardUnsavedChanges() {
+        if (journal != null) {
+            journal.discardUnsavedRecords();
+        }
+        undoStack = new UndoStack(undoStack.getCapacity());
+    }
+
+    /**
+     * Flushes all pending changes and stops the background threads of the storage.
+     * If the metrics are being logged, they are logged one last time.
+     */
+    public void close() {
+        try {
+            flush();
+        } catch (IOException e) {
+            System.out.println("Error: Unable to write journal for " + filePath);
+        }
+        awaitCompaction();
+        if (flushExecutor != null) {
+            flushExecutor.shutdown();
+        }
+        if (compactionExecutor != null) {
+            compactionExecutor.shutdown();
+        }
+        if (metricsLogExecutor != null) {
+            metricsLogExecutor.shutdown();
+            logMetrics();
+        }
+    }
+
+    /**
+     * Returns the metrics counting the reads and writes of the storage.
+     * @return The metrics of the storage.
+     */
+    public StorageMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Logs the metrics of the storage periodically on a background thread, at the INFO level.
+     * @param intervalSeconds How often to log the metrics, in seconds.
+     */
+    public void logMetricsPeriodically(long intervalSeconds) {
+        if (metricsLogExecutor != null) {
+            return;
+        }
+        metricsLogExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "storage-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        metricsLogExecutor.scheduleAtFixedRate(this::logMetrics, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    private void logMetrics() {
+        LOGGER.info(filePath + ": " + metrics.toLogLine());
+    }
+
+    /**
+     * Sets how large the journal may grow before it is folded back into the file.
+     * @param maxRecords The maximum number of records in the journal.
+     * @param maxBytes The maximum size of the journal in bytes.
+     */
+    public void setCompactionThreshold(int maxRecords, long maxBytes) {
+        if (journal != null) {
+            journal.setCompactionThreshold(maxRecords, maxBytes);
+        }
+    }
+
+    /**
+     * Waits for a running background compaction, if any, to finish.
+     */
+    public void awaitCompaction() {
+        if (compaction == null) {
+            return;
+        }
+        try {
+            compaction.get();
+        } catch (ExecutionException e) {
+            System.out.println("Error: Unable to compact " + filePath);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Rewrites the whole file through a temporary file, so the file on disk is never half-written,
+     * and starts a new journal on top of it. The temporary file and the rename reach the disk
+     * before the old journal is deleted, so a crash leaves either the old file and its journal or the new file.
+     */
+    private void writeSnapshot(List<Task> taskList) throws IOException {
+        byte[] data = toSavedBytes(taskList);
+        synchronized (journal) {
+            Path temp = Path.of(filePath + ".tmp");
+            writeFile(temp, data, false);
+            Journal.moveAtomically(temp, Path.of(filePath));
+            Journal.syncDirectory(Path.of(filePath));
+            journal.reset(computeChecksum(ByteBuffer.wrap(data)), taskList.size());
+        }
+    }
+
+    /**
+     * Folds the journal back into the file on a background thread once it has grown past its threshold,
+     * so that replaying it on startup stays cheap. The tasks are captured here, where they match
+     * the journal exactly; records written while the compaction runs are carried over to the new journal.
+     */
+    private void compactInBackgroundIfNeeded(List<Task> taskList) {
+        if (!journal.needsCompaction() || (compaction != null && !compaction.isDone())) {
+            return;
+        }
+
+        List<Task> tasks = new ArrayList<>(taskList);
+        long offset = journal.getSize();
+        int epoch = journal.getEpoch();
+        if (compactionExecutor == null) {
+            compactionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "storage-compaction");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        compaction = compactionExecutor.submit(() -> {
+            compact(tasks, offset, epoch);
+            return null;
+        });
+    }
+
+    /**
+     * Writes the captured tasks to a new file and moves it into place together with a new journal.
+     * The new file, the new journal and both renames are forced to the disk in that order,
+     * so a crash never leaves the journal replaced while the compacted file is missing.
+     * Marking and unmarking only ever set the status outright, so a status that changed after the tasks
+     * were captured is still correct once the carried-over records are replayed.
+     */
+    private void compact(List<Task> tasks, long offset, int epoch) throws IOException {
+        byte[] data = toSavedBytes(tasks);
+        Path temp = Path.of(filePath + ".compact");
+        writeFile(temp, data, true);
+
+        synchronized (journal) {
+            if (journal.getEpoch() != epoch) {
+                // the file has been rewritten in the meantime, so these tasks are out of date
+                Files.deleteIfExists(temp);
+                return;
+            }
+            journal.prepareRebase(computeChecksum(ByteBuffer.wrap(data)), offset);
+            Journal.moveAtomically(temp, Path.of(filePath));
+            // the compacted file must survive a crash before the old journal is replaced
+            Journal.syncDirectory(Path.of(filePath));
+            journal.commitRebase();
+        }
+    }
+
+    /**
+     * Writes the whole contents of the task file and forces it to the disk,
+     * recording the rewrite and the fsync in the metrics.
+     */
+    private void writeFile(Path path, byte[] data, boolean isCompaction) throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            long fsyncStart = System.nanoTime();
+            channel.force(true);
+            metrics.recordFsync(System.nanoTime() - fsyncStart);
+        } catch (IOException e) {
+            metrics.recordFailure();
+            throw e;
+        }
+        metrics.recordRewrite(data.length, System.nanoTime() - start, isCompaction);
+    }
+
+    private byte[] toSavedBytes(List<Task> taskList) {
+        if (isBinary) {
+            return BinaryTaskCodec.encode(taskList);
+        }
+        StringBuilder sb = new StringBuilder();
         for (Task task : taskList) {
-            fw.write(task.toSavedFormat(separation) + "\n");
+            sb.append(task.toSavedFormat(SEPARATION)).append("\n");
+        }
+        return sb.toString().getBytes(Charset.defaultCharset());
+    }
+
+    private static String computeChecksum(ByteBuffer data) {
+        CRC32 crc = new CRC32();
+        crc.update(data.duplicate());
+        return Long.toHexString(crc.getValue());
+    }
+
+    /**
+     * Records that a task has been added to the end of the task list.
+     * @param task The task that was added.
+     */
+    public void recordAddition(Task task) {
+        if (journal != null) {
+            journal.recordAdd(task);
+        }
+    }
+
+    /**
+     * Records that a task has been inserted at the given index.
+     * @param index The zero-based index the task was inserted at.
+     * @param task The task that was inserted.
+     */
+    public void recordInsertion(int index, Task task) {
+        if (journal != null) {
+            journal.recordInsert(index, task);
+        }
+    }
+
+    /**
+     * Records that the task at the given index has been deleted from the task list.
+     * @param index The zero-based index of the deleted task.
+     */
+    public void recordDeletion(int index) {
+        if (journal != null) {
+            journal.recordDelete(index);
+        }
+    }
+
+    /**
+     * Records that the task at the given index has been marked or unmarked.
+     * @param index The zero-based index of the task.
+     * @param isDone Whether the task is now done.
+     */
+    public void recordMarking(int index, boolean isDone) {
+        if (journal != null) {
+            journal.recordMark(index, isDone);
         }
-        fw.close();
+    }
+
+    /**
+     * Sets the maximum number of commands that can be undone.
+     * The commands entered so far are forgotten.
+     * @param capacity The maximum number of commands to keep.
+     */
+    public void setUndoCapacity(int capacity) {
+        undoStack = new UndoStack(capacity);
     }
 
     public int getCommandsSize() {
-        return commands.size();
+        return undoStack.size();
     }
 
     /**
      * keeps track of the all commands that the user enters.
      * @param command the command keyword that the user enters
      * @param task the task associated with the command
+     * @param index the index of the task when the command was entered
+     */
+    public void saveCommands(String command, Task task, int index) {
+        undoStack.push(new CommandRecord(command, task, index));
+    }
+
+    /**
+     * keeps track of a command that changed several tasks at once, so that it is undone as a whole.
+     * @param command the command keyword that the user enters
+     * @param tasks the tasks associated with the command
+     * @param indexes the indexes of the tasks when the command was entered, in ascending order
      */
-    public void saveCommands(String command, Task task) {
-        commands.put(command, task);
+    public void saveCommands(String command, List<Task> tasks, int[] indexes) {
+        undoStack.push(new CommandRecord(command, tasks, indexes));
     }
 
     /**
-     * Removes the last entry of the command arraylist
+     * Removes and returns the last command that the user entered.
      * @throws NoLastCommandToUndo if the user hasn't entered any command, and he tries to undo
      */
-    public Map<String, Task> lastCommand() throws NoLastCommandToUndo {
-        if (commands.isEmpty()) {
-            throw new NoLastCommandToUndo();
-        }
-        String lastCommand = commands.keySet()
-                .toArray(new String[0])[commands.size() - 1];
-        Task lastTask = commands.get(commands.keySet()
-                .toArray(new String[0])[commands.size() - 1]);
-        commands.remove(lastCommand);
-        Map<String, Task> result = new HashMap<>();
-        result.put(lastCommand, lastTask);
-        return result;
+    public CommandRecord lastCommand() throws NoLastCommandToUndo {
+        return undoStack.pop();
     }
 }
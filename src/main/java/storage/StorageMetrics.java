@@ -0,0 +1,205 @@
+package storage;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import metrics.LatencyHistogram;
+
+/**
+ * The StorageMetrics class counts the reads and writes of a storage: the bytes moved, the full rewrites
+ * of the task file, the appends and syncs of the journal with their latencies, the failures,
+ * and how long the last load spent reading, parsing and replaying the journal.
+ * Task files of 1 MiB or more are memory-mapped, so most of their reading happens while they are parsed.
+ * The counters can be updated by the background threads of the storage while they are read.
+ */
+public class StorageMetrics implements StorageMetricsMBean {
+
+    private static final String OBJECT_NAME = "chattybuddy:type=StorageMetrics";
+    private static final double NANOS_PER_MICRO = 1000.0;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong fullRewrites = new AtomicLong();
+    private final AtomicLong compactions = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final LatencyHistogram rewriteLatency = new LatencyHistogram();
+    private final LatencyHistogram flushLatency = new LatencyHistogram();
+    private final LatencyHistogram fsyncLatency = new LatencyHistogram();
+    private volatile long loadReadNanos;
+    private volatile long loadParseNanos;
+    private volatile long loadReplayNanos;
+
+    /**
+     * Records a rewrite of the whole task file.
+     *
+     * @param bytes The number of bytes written.
+     * @param nanos The time taken, in nanoseconds.
+     * @param isCompaction Whether the rewrite compacted the journal into the task file.
+     */
+    public void recordRewrite(long bytes, long nanos, boolean isCompaction) {
+        bytesWritten.addAndGet(bytes);
+        fullRewrites.incrementAndGet();
+        if (isCompaction) {
+            compactions.incrementAndGet();
+        }
+        rewriteLatency.record(nanos);
+    }
+
+    /**
+     * Records an append of changes to the journal.
+     *
+     * @param bytes The number of bytes written.
+     * @param nanos The time taken, including the sync if there was one, in nanoseconds.
+     */
+    public void recordFlush(long bytes, long nanos) {
+        bytesWritten.addAndGet(bytes);
+        flushLatency.record(nanos);
+    }
+
+    /**
+     * Records a sync of the journal to the disk.
+     *
+     * @param nanos The time taken, in nanoseconds.
+     */
+    public void recordFsync(long nanos) {
+        fsyncLatency.record(nanos);
+    }
+
+    /**
+     * Records a write to a file that does not rewrite the task file or append to the journal,
+     * such as copying the end of the journal during a compaction.
+     *
+     * @param bytes The number of bytes written.
+     */
+    public void recordWrite(long bytes) {
+        bytesWritten.addAndGet(bytes);
+    }
+
+    /**
+     * Records a read from the task file or the journal.
+     *
+     * @param bytes The number of bytes read.
+     */
+    public void recordRead(long bytes) {
+        bytesRead.addAndGet(bytes);
+    }
+
+    /**
+     * Records how long the phases of loading the tasks took.
+     *
+     * @param readNanos The time spent reading the task file, in nanoseconds.
+     * @param parseNanos The time spent parsing the tasks, in nanoseconds.
+     * @param replayNanos The time spent replaying the journal, in nanoseconds.
+     */
+    public void recordLoad(long readNanos, long parseNanos, long replayNanos) {
+        loadReadNanos = readNanos;
+        loadParseNanos = parseNanos;
+        loadReplayNanos = replayNanos;
+    }
+
+    /**
+     * Records a read or write that failed.
+     */
+    public void recordFailure() {
+        failures.incrementAndGet();
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    @Override
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    @Override
+    public long getFullRewrites() {
+        return fullRewrites.get();
+    }
+
+    @Override
+    public long getCompactions() {
+        return compactions.get();
+    }
+
+    @Override
+    public long getJournalFlushes() {
+        return flushLatency.getCount();
+    }
+
+    @Override
+    public long getFsyncs() {
+        return fsyncLatency.getCount();
+    }
+
+    @Override
+    public long getFailures() {
+        return failures.get();
+    }
+
+    @Override
+    public double getMeanRewriteMicros() {
+        return rewriteLatency.getMeanNanos() / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getPercentile99FlushMicros() {
+        return flushLatency.getValueAtPercentile(99) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getPercentile99FsyncMicros() {
+        return fsyncLatency.getValueAtPercentile(99) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getLoadReadMillis() {
+        return loadReadNanos / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getLoadParseMillis() {
+        return loadParseNanos / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getLoadReplayMillis() {
+        return loadReplayNanos / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Returns the counters as a single line for the log.
+     *
+     * @return The counters, e.g. "written=1024B read=2048B rewrites=1 ...".
+     */
+    public String toLogLine() {
+        return String.format("written=%dB read=%dB rewrites=%d compactions=%d flushes=%d fsyncs=%d failures=%d"
+                        + " rewriteMean=%.1fus flushP99=%.1fus fsyncP99=%.1fus"
+                        + " load(read=%.1fms parse=%.1fms replay=%.1fms)",
+                getBytesWritten(), getBytesRead(), getFullRewrites(), getCompactions(), getJournalFlushes(),
+                getFsyncs(), getFailures(), getMeanRewriteMicros(), getPercentile99FlushMicros(),
+                getPercentile99FsyncMicros(), getLoadReadMillis(), getLoadParseMillis(), getLoadReplayMillis());
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server, replacing any metrics registered before,
+     * so that JMX clients can read them.
+     *
+     * @throws JMException if the metrics cannot be registered.
+     */
+    public void registerMBean() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(OBJECT_NAME);
+        if (server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+        server.registerMBean(this, name);
+    }
+}
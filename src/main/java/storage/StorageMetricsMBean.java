@@ -0,0 +1,99 @@
+package storage;
+
+/**
+ * The management interface through which JMX clients such as JConsole read the I/O statistics of the storage.
+ * Latencies are given in microseconds, and the phases of loading in milliseconds.
+ */
+public interface StorageMetricsMBean {
+
+    /**
+     * Returns the number of bytes written to the task file and the journal.
+     *
+     * @return The number of bytes written.
+     */
+    long getBytesWritten();
+
+    /**
+     * Returns the number of bytes read from the task file and the journal.
+     *
+     * @return The number of bytes read.
+     */
+    long getBytesRead();
+
+    /**
+     * Returns the number of times the whole task file was rewritten, including compactions.
+     *
+     * @return The number of full rewrites.
+     */
+    long getFullRewrites();
+
+    /**
+     * Returns the number of times the journal was compacted into the task file.
+     *
+     * @return The number of compactions.
+     */
+    long getCompactions();
+
+    /**
+     * Returns the number of times changes were appended to the journal.
+     *
+     * @return The number of journal flushes.
+     */
+    long getJournalFlushes();
+
+    /**
+     * Returns the number of times the journal was synced to the disk.
+     *
+     * @return The number of syncs.
+     */
+    long getFsyncs();
+
+    /**
+     * Returns the number of reads and writes that failed.
+     *
+     * @return The number of failures.
+     */
+    long getFailures();
+
+    /**
+     * Returns the mean time taken to rewrite the whole task file.
+     *
+     * @return The mean rewrite latency in microseconds.
+     */
+    double getMeanRewriteMicros();
+
+    /**
+     * Returns the 99th percentile time taken to append changes to the journal, including the sync.
+     *
+     * @return The 99th percentile flush latency in microseconds.
+     */
+    double getPercentile99FlushMicros();
+
+    /**
+     * Returns the 99th percentile time taken to sync the journal to the disk.
+     *
+     * @return The 99th percentile sync latency in microseconds.
+     */
+    double getPercentile99FsyncMicros();
+
+    /**
+     * Returns the time the last load spent reading the task file.
+     *
+     * @return The reading time in milliseconds.
+     */
+    double getLoadReadMillis();
+
+    /**
+     * Returns the time the last load spent parsing the tasks.
+     *
+     * @return The parsing time in milliseconds.
+     */
+    double getLoadParseMillis();
+
+    /**
+     * Returns the time the last load spent replaying the journal.
+     *
+     * @return The replaying time in milliseconds.
+     */
+    double getLoadReplayMillis();
+}
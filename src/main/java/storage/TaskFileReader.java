@@ -0,0 +1,216 @@
+package storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import parser.Parser;
+import task.Task;
+
+/**
+ * The TaskFileReader class reads tasks from the task file by scanning its bytes directly
+ * for line breaks and the " | " separator, instead of splitting every line with a regex.
+ * Large files are memory-mapped rather than copied onto the heap, except on Windows,
+ * where a file cannot be replaced while it is mapped and every later rewrite of the task file would fail.
+ * Strings are only created for the fields of each line.
+ * Large files are also split into chunks of whole lines that are parsed in parallel.
+ */
+public class TaskFileReader {
+
+    private static final long MAPPING_THRESHOLD = 1024 * 1024;
+    private static final boolean CAN_REPLACE_MAPPED_FILES =
+            !System.getProperty("os.name", "").startsWith("Windows");
+    private static final int PARALLEL_THRESHOLD = 1024 * 1024;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int EXPECTED_FIELDS = 5;
+    private static final String[] SINGLE_CHARACTER_FIELDS = new String[128];
+
+    static {
+        for (int i = 0; i < SINGLE_CHARACTER_FIELDS.length; i++) {
+            SINGLE_CHARACTER_FIELDS[i] = String.valueOf((char) i);
+        }
+    }
+
+    private final Charset charset;
+    private final int parallelThreshold;
+    private final int chunkCount;
+    private byte[] scratch = new byte[256];
+
+    /**
+     * Initializes the TaskFileReader with the charset the task file is written in.
+     * The charset must encode the separator and line breaks as single ASCII bytes.
+     *
+     * @param charset The charset of the task file.
+     */
+    public TaskFileReader(Charset charset) {
+        this(charset, PARALLEL_THRESHOLD, ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD);
+    }
+
+    /**
+     * Initializes the TaskFileReader with the size from which files are parsed in parallel,
+     * and the number of chunks they are split into.
+     *
+     * @param charset The charset of the task file.
+     * @param parallelThreshold The size in bytes from which files are parsed in parallel.
+     * @param chunkCount The number of chunks a file is split into; files are parsed sequentially if it is below 2.
+     */
+    TaskFileReader(Charset charset, int parallelThreshold, int chunkCount) {
+        this.charset = charset;
+        this.parallelThreshold = parallelThreshold;
+        this.chunkCount = chunkCount;
+    }
+
+    /**
+     * Reads the contents of a file into a buffer. Files of 1 MiB or more are memory-mapped,
+     * unless the file system does not allow replacing a mapped file, as the mapping is only released
+     * once the buffer has been garbage collected.
+     *
+     * @param path The path to the file.
+     * @return A buffer holding the contents of the file.
+     * @throws IOException if there's an error reading the file.
+     */
+    public static ByteBuffer read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size >= MAPPING_THRESHOLD && CAN_REPLACE_MAPPED_FILES) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // keeps reading until the whole file has been copied
+            }
+            buffer.flip();
+            return buffer;
+        }
+    }
+
+    /**
+     * Parses the tasks on the lines between two positions of the buffer.
+     * Blank lines and lines that do not describe a task are skipped.
+     *
+     * @param data The contents of the task file.
+     * @param from The position of the first byte of the first line.
+     * @param to The position after the last byte to parse.
+     * @return The list of tasks in the given range.
+     */
+    public ArrayList<Task> readTasks(ByteBuffer data, int from, int to) {
+        ArrayList<Task> tasks = new ArrayList<>();
+        int lineStart = from;
+        while (lineStart < to) {
+            int lineEnd = lineStart;
+            while (lineEnd < to && data.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+
+            int contentEnd = lineEnd;
+            if (contentEnd > lineStart && data.get(contentEnd - 1) == '\r') {
+                contentEnd--;
+            }
+            Task task = readTask(data, lineStart, contentEnd);
+            if (task != null) {
+                tasks.add(task);
+            }
+            lineStart = lineEnd + 1;
+        }
+        return tasks;
+    }
+
+    /**
+     * Parses all tasks in the buffer.
+     *
+     * @param data The contents of the task file.
+     * @return The list of tasks in the file.
+     */
+    public ArrayList<Task> readTasks(ByteBuffer data) {
+        return readTasks(data, data.position(), data.limit());
+    }
+
+    /**
+     * Parses all tasks in the buffer, splitting large buffers into chunks of whole lines
+     * that are parsed on the common fork-join pool. The tasks are returned in the order of the file.
+     *
+     * @param data The contents of the task file.
+     * @return The list of tasks in the file.
+     */
+    public ArrayList<Task> readTasksInParallel(ByteBuffer data) {
+        int size = data.limit() - data.position();
+        if (size < parallelThreshold || chunkCount < 2) {
+            return readTasks(data);
+        }
+
+        int[] boundaries = new int[chunkCount + 1];
+        boundaries[0] = data.position();
+        for (int i = 1; i < chunkCount; i++) {
+            int boundary = Math.max(boundaries[i - 1], data.position() + (int) ((long) size * i / chunkCount));
+            while (boundary < data.limit() && boundary > boundaries[i - 1] && data.get(boundary - 1) != '\n') {
+                boundary++;
+            }
+            boundaries[i] = boundary;
+        }
+        boundaries[chunkCount] = data.limit();
+
+        List<ArrayList<Task>> chunks = IntStream.range(0, chunkCount)
+                .parallel()
+                .mapToObj(i -> new TaskFileReader(charset)
+                        .readTasks(data.duplicate(), boundaries[i], boundaries[i + 1]))
+                .collect(Collectors.toList());
+
+        ArrayList<Task> tasks = new ArrayList<>(chunks.stream().mapToInt(ArrayList::size).sum());
+        for (ArrayList<Task> chunk : chunks) {
+            tasks.addAll(chunk);
+        }
+        return tasks;
+    }
+
+    private Task readTask(ByteBuffer data, int start, int end) {
+        if (start == end) {
+            return null;
+        }
+
+        String[] fields = new String[EXPECTED_FIELDS];
+        int fieldCount = 0;
+        int fieldStart = start;
+        for (int i = start; i + 2 < end; i++) {
+            if (data.get(i) == ' ' && data.get(i + 1) == '|' && data.get(i + 2) == ' ') {
+                if (fieldCount == fields.length - 1) {
+                    fields = Arrays.copyOf(fields, fields.length * 2);
+                }
+                fields[fieldCount++] = decode(data, fieldStart, i);
+                fieldStart = i + 3;
+                i += 2;
+            }
+        }
+        fields[fieldCount++] = decode(data, fieldStart, end);
+
+        // drops trailing empty fields, as String.split does
+        while (fieldCount > 1 && fields[fieldCount - 1].isEmpty()) {
+            fieldCount--;
+        }
+        return Parser.parseSavedData(Arrays.copyOf(fields, fieldCount));
+    }
+
+    private String decode(ByteBuffer data, int start, int end) {
+        int length = end - start;
+        if (length == 1 && data.get(start) >= 0) {
+            return SINGLE_CHARACTER_FIELDS[data.get(start)];
+        }
+        if (data.hasArray()) {
+            return new String(data.array(), data.arrayOffset() + start, length, charset);
+        }
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        data.get(start, scratch, 0, length);
+        return new String(scratch, 0, length, charset);
+    }
+}
@@ -0,0 +1,197 @@
+package task;
+
+import java.text.ParsePosition;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQuery;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * The DateParser class parses date strings against a list of accepted formats.
+ * The format the tasks are saved in is checked first by hand, without any allocation.
+ * The other formats are tried with {@link DateTimeFormatter#parseUnresolved}, so a format that does not match
+ * is skipped without throwing an exception, and recently parsed strings are remembered.
+ *
+ * @param <T> The type of date the strings are parsed into.
+ */
+public class DateParser<T> {
+
+    private static final int CACHE_CAPACITY = 4096;
+
+    private final Function<String, T> canonicalParser;
+    private final List<DateTimeFormatter> formatters = new ArrayList<>();
+    private final List<TemporalQuery<T>> queries = new ArrayList<>();
+    private final Map<String, T> cache = new ConcurrentHashMap<>();
+
+    private DateParser(Function<String, T> canonicalParser) {
+        this.canonicalParser = canonicalParser;
+    }
+
+    /**
+     * Creates a parser for dates in the given formats, with "yyyy-MM-dd" as the canonical format.
+     *
+     * @param formatters The accepted formats, in the order they are tried.
+     * @return The date parser.
+     */
+    public static DateParser<LocalDate> forDates(List<DateTimeFormatter> formatters) {
+        DateParser<LocalDate> parser = new DateParser<>(DateParser::parseCanonicalDate);
+        for (DateTimeFormatter formatter : formatters) {
+            parser.addFormat(formatter, LocalDate::from);
+        }
+        return parser;
+    }
+
+    /**
+     * Creates a parser for dates with times, with "yyyy-MM-dd HHmm" as the canonical format.
+     * Strings that only hold a date are parsed as the start of that day.
+     *
+     * @param dateTimeFormatters The accepted formats with a time, in the order they are tried.
+     * @param dateFormatters The accepted formats without a time, tried after those with a time.
+     * @return The date and time parser.
+     */
+    public static DateParser<LocalDateTime> forDateTimes(
+            List<DateTimeFormatter> dateTimeFormatters, List<DateTimeFormatter> dateFormatters) {
+        DateParser<LocalDateTime> parser = new DateParser<>(DateParser::parseCanonicalDateTime);
+        for (DateTimeFormatter formatter : dateTimeFormatters) {
+            parser.addFormat(formatter, LocalDateTime::from);
+        }
+        for (DateTimeFormatter formatter : dateFormatters) {
+            parser.addFormat(formatter, temporal -> LocalDate.from(temporal).atStartOfDay());
+        }
+        return parser;
+    }
+
+    private void addFormat(DateTimeFormatter formatter, TemporalQuery<T> query) {
+        formatters.add(formatter);
+        queries.add(query);
+    }
+
+    /**
+     * Parses a date string using the first format that accepts it.
+     *
+     * @param text The date string to be parsed.
+     * @return The parsed date, or null if no format accepts the string.
+     */
+    public T parse(String text) {
+        T result = canonicalParser.apply(text);
+        if (result != null) {
+            return result;
+        }
+
+        result = cache.get(text);
+        if (result != null) {
+            return result;
+        }
+
+        result = parseWithFormatters(text);
+        if (result != null) {
+            if (cache.size() >= CACHE_CAPACITY) {
+                cache.clear();
+            }
+            cache.put(text, result);
+        }
+        return result;
+    }
+
+    private T parseWithFormatters(String text) {
+        for (int i = 0; i < formatters.size(); i++) {
+            DateTimeFormatter formatter = formatters.get(i);
+            ParsePosition position = new ParsePosition(0);
+            TemporalAccessor parsed = formatter.parseUnresolved(text, position);
+            if (parsed == null || position.getErrorIndex() >= 0 || position.getIndex() != text.length()) {
+                continue;
+            }
+
+            try {
+                return formatter.parse(text, queries.get(i));
+            } catch (DateTimeParseException e) {
+                // the string has the right shape but is not a complete or valid date in this format
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses a date in the "yyyy-MM-dd" format.
+     *
+     * @return The parsed date, or null if the string is not a valid date in this format.
+     */
+    private static LocalDate parseCanonicalDate(String text) {
+        return text.length() == 10 ? parseDatePrefix(text) : null;
+    }
+
+    /**
+     * Parses a date in the "yyyy-MM-dd HHmm" format.
+     *
+     * @return The parsed date and time, or null if the string is not valid in this format.
+     */
+    private static LocalDateTime parseCanonicalDateTime(String text) {
+        if (text.length() != 15 || text.charAt(10) != ' ') {
+            return null;
+        }
+        LocalDate date = parseDatePrefix(text);
+        int hour = parseDigits(text, 11, 13);
+        int minute = parseDigits(text, 13, 15);
+        if (date == null || hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            return null;
+        }
+        return date.atTime(hour, minute);
+    }
+
+    /**
+     * Parses a date in the "yyyy-MM-dd" format from the first ten characters of a string.
+     *
+     * @return The parsed date, or null if the characters are not a valid date in this format.
+     */
+    private static LocalDate parseDatePrefix(String text) {
+        if (text.charAt(4) != '-' || text.charAt(7) != '-') {
+            return null;
+        }
+        int year = parseDigits(text, 0, 4);
+        int month = parseDigits(text, 5, 7);
+        int day = parseDigits(text, 8, 10);
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    /**
+     * Parses the decimal digits between two positions of a string.
+     *
+     * @return The value of the digits, or -1 if there is a character that is not a digit.
+     */
+    private static int parseDigits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+        case 2:
+            return Year.isLeap(year) ? 29 : 28;
+        case 4:
+        case 6:
+        case 9:
+        case 11:
+            return 30;
+        default:
+            return 31;
+        }
+    }
+}
@@ -2,7 +2,6 @@ package task;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.Arrays;
 import java.util.List;
 
@@ -27,6 +26,7 @@ public class Deadline extends Task {
             DateTimeFormatter.ofPattern("d MMM"),
             DateTimeFormatter.ofPattern("d MMMM")
     );
+    private static final DateParser<LocalDate> DATE_PARSER = DateParser.forDates(FORMATTERS);
     protected LocalDate dueTime;
 
     /**
@@ -60,6 +60,24 @@ public class Deadline extends Task {
         this.dueTime = parseDate(dataArr[3]);
     }
 
+    /**
+     * Returns the date the task is due.
+     *
+     * @return The due date of the task.
+     */
+    public LocalDate getDueTime() {
+        return this.dueTime;
+    }
+
+    /**
+     * Sets the date the task is due.
+     *
+     * @param dueTime The due date of the task.
+     */
+    public void setDueTime(LocalDate dueTime) {
+        this.dueTime = dueTime;
+    }
+
     /**
      * Parses a date string into a LocalDate object.
      *
@@ -70,20 +88,17 @@ public class Deadline extends Task {
     public LocalDate parseDate(String dateStr) {
         assert dateStr != null : "date string should not be empty";
 
-        for (DateTimeFormatter formatter : FORMATTERS) {
-            try {
-                LocalDate date = LocalDate.parse(dateStr, formatter);
-                // If no year was provided, assume the current year
-                if (formatter.toString().contains("MMM") && !dateStr.matches(".*\\d{4}.*")) {
-                    return date.withYear(LocalDate.now().getYear());
-                }
-                return date;
-            } catch (DateTimeParseException e) {
-                // continues to the next format if parsing fails
-            }
+        LocalDate date = DATE_PARSER.parse(dateStr);
+        if (date == null) {
+            throw new IllegalArgumentException("Oops! Date format not recognized: "
+                                                + dateStr + " If you have entered a time, please remove it.");
         }
-        throw new IllegalArgumentException("Oops! Date format not recognized: "
-                                            + dateStr + " If you have entered a time, please remove it.");
+        return date;
+    }
+
+    @Override
+    public boolean isDueBefore(LocalDate date) {
+        return dueTime.isBefore(date);
     }
 
     @Override
@@ -3,7 +3,6 @@ package task;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.Arrays;
 import java.util.List;
 
@@ -56,6 +55,8 @@ public class Event extends Task {
             DateTimeFormatter.ofPattern("d MMM"),
             DateTimeFormatter.ofPattern("d MMMM")
     );
+    private static final DateParser<LocalDateTime> DATE_TIME_PARSER =
+            DateParser.forDateTimes(DATE_TIME_FORMATTERS, DATE_FORMATTERS);
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd ha");
     protected LocalDateTime startTime;
     protected LocalDateTime endTime;
@@ -92,6 +93,42 @@ public class Event extends Task {
         this.endTime = parseDateTime(dataArr[4]);
     }
 
+    /**
+     * Returns the date and time the event starts.
+     *
+     * @return The start time of the event.
+     */
+    public LocalDateTime getStartTime() {
+        return this.startTime;
+    }
+
+    /**
+     * Sets the date and time the event starts.
+     *
+     * @param startTime The start time of the event.
+     */
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    /**
+     * Returns the date and time the event ends.
+     *
+     * @return The end time of the event.
+     */
+    public LocalDateTime getEndTime() {
+        return this.endTime;
+    }
+
+    /**
+     * Sets the date and time the event ends.
+     *
+     * @param endTime The end time of the event.
+     */
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+
     /**
      * Parses a date string into a LocalDateTime object.
      * If no time is provided, it will automatically set the time to be 00:00 of the given date
@@ -103,28 +140,20 @@ public class Event extends Task {
     public LocalDateTime parseDateTime(String dateStr) {
         assert dateStr != null : "date string should not be empty";
 
-        // First, try parsing as LocalDateTime with a time component
-        for (DateTimeFormatter formatter : DATE_TIME_FORMATTERS) {
-            try {
-                return LocalDateTime.parse(dateStr, formatter);
-            } catch (DateTimeParseException e) {
-                // Continue to the next format if parsing fails
-            }
-        }
-
-        // If no time component is present, try parsing as LocalDate and set the time to 00:00
-        for (DateTimeFormatter formatter : DATE_FORMATTERS) {
-            try {
-                LocalDate date = LocalDate.parse(dateStr, formatter);
-                return date.atStartOfDay();
-            } catch (DateTimeParseException e) {
-                // Continue to the next format if parsing fails
-            }
+        // tries the formats with a time component first, then those with only a date
+        LocalDateTime dateTime = DATE_TIME_PARSER.parse(dateStr);
+        if (dateTime == null) {
+            throw new IllegalArgumentException("Oops! Date format not recognized: "
+                                                + dateStr + ". Have you entered the correct time?");
         }
+        return dateTime;
+    }
 
-        throw new IllegalArgumentException("Oops! Date format not recognized: "
-                                            + dateStr + ". Have you entered the correct time?");
+    @Override
+    public boolean isDueBefore(LocalDate date) {
+        return endTime.isBefore(date.atStartOfDay());
     }
+
     @Override
     public String toSavedFormat(String separation) {
         return super.toSavedFormat(separation)
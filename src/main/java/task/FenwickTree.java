@@ -0,0 +1,86 @@
+package task;
+
+/**
+ * The FenwickTree class counts values in a fixed number of positions,
+ * supporting point updates, prefix sums and finding the position of the k-th unit in logarithmic time.
+ * TaskList uses it to count the live slots of its backing list, so that the position of a task
+ * in the list can be found despite the deleted slots in between.
+ */
+public class FenwickTree {
+
+    private final int[] tree;
+
+    /**
+     * Constructs a FenwickTree over the given number of positions,
+     * where each of the first {@code ones} positions holds 1 and the rest hold 0.
+     * The tree is built in linear time.
+     *
+     * @param capacity The number of positions.
+     * @param ones The number of leading positions that hold 1.
+     */
+    public FenwickTree(int capacity, int ones) {
+        assert ones <= capacity : "ones should not exceed the capacity";
+
+        tree = new int[capacity + 1];
+        for (int i = 1; i <= capacity; i++) {
+            int rangeStart = i - (i & -i);
+            tree[i] = Math.max(0, Math.min(i, ones) - rangeStart);
+        }
+    }
+
+    /**
+     * Returns the number of positions in the tree.
+     *
+     * @return The capacity of the tree.
+     */
+    public int capacity() {
+        return tree.length - 1;
+    }
+
+    /**
+     * Adds a value to a position.
+     *
+     * @param position The zero-based position.
+     * @param delta The value to add.
+     */
+    public void add(int position, int delta) {
+        for (int i = position + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Returns the sum of the values before a position.
+     *
+     * @param position The zero-based position.
+     * @return The sum of the values in the positions before it.
+     */
+    public int prefixSum(int position) {
+        int sum = 0;
+        for (int i = position; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the position holding the unit with the given rank,
+     * i.e. the smallest position whose prefix sum including itself exceeds the rank.
+     * All values must be 0 or 1.
+     *
+     * @param rank The zero-based rank of the unit.
+     * @return The zero-based position of the unit.
+     */
+    public int select(int rank) {
+        int position = 0;
+        int remaining = rank;
+        for (int step = Integer.highestOneBit(capacity()); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next < tree.length && tree[next] <= remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+        return position;
+    }
+}
@@ -0,0 +1,150 @@
+package task;
+
+import java.util.Arrays;
+
+/**
+ * The LongTaskMap class is a hash map from task ids to tasks that stores the ids as primitive longs,
+ * so looking up a task does not box its id.
+ * It uses open addressing with linear probing, and since ids start from 1, the id 0 marks an empty slot.
+ */
+public class LongTaskMap {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final long EMPTY = 0;
+
+    private long[] keys;
+    private Task[] values;
+    private int size;
+
+    /**
+     * Constructs an empty LongTaskMap.
+     */
+    public LongTaskMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty LongTaskMap with room for the given number of tasks before it has to grow.
+     *
+     * @param expectedSize The number of tasks the map is expected to hold.
+     */
+    public LongTaskMap(int expectedSize) {
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity *= 2;
+        }
+        keys = new long[capacity];
+        values = new Task[capacity];
+    }
+
+    /**
+     * Returns the task with the given id.
+     *
+     * @param id The id of the task.
+     * @return The task with the id, or null if there is none.
+     */
+    public Task get(long id) {
+        int mask = keys.length - 1;
+        for (int slot = hash(id) & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (keys[slot] == id) {
+                return values[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Maps the given id to a task, replacing any task that had the same id.
+     *
+     * @param id The id of the task, which must be positive.
+     * @param task The task to be stored.
+     */
+    public void put(long id, Task task) {
+        assert id != EMPTY : "task id should not be 0";
+
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        int mask = keys.length - 1;
+        int slot = hash(id) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == id) {
+                values[slot] = task;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = id;
+        values[slot] = task;
+        size++;
+    }
+
+    /**
+     * Removes the task with the given id.
+     *
+     * @param id The id of the task.
+     * @return The removed task, or null if there was none.
+     */
+    public Task remove(long id) {
+        int mask = keys.length - 1;
+        int slot = hash(id) & mask;
+        while (keys[slot] != id) {
+            if (keys[slot] == EMPTY) {
+                return null;
+            }
+            slot = (slot + 1) & mask;
+        }
+        Task removed = values[slot];
+
+        // shifts later entries of the probe sequence back, so that no lookup stops at the freed slot
+        int gap = slot;
+        for (int next = (gap + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        keys[gap] = EMPTY;
+        values[gap] = null;
+        size--;
+        return removed;
+    }
+
+    /**
+     * Returns the number of tasks in the map.
+     *
+     * @return The number of tasks.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes every task from the map.
+     */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Task[] oldValues = values;
+        keys = new long[capacity];
+        values = new Task[capacity];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int hash(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
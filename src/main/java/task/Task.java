@@ -1,5 +1,7 @@
 package task;
 
+import java.time.LocalDate;
+
 /**
  * The Task class represents a task with a description, status, and type.
  * It provides methods to manage the task's status and format the task for saving.
@@ -8,6 +10,7 @@ public class Task {
     protected String description;
     protected boolean isDone;
     protected String type;
+    private long id;
 
     /**
      * Constructs a Task object with the specified description and type.
@@ -34,6 +37,54 @@ public class Task {
         return this.type;
     }
 
+    /**
+     * Returns the id the task list assigned to the task.
+     * Tasks that were added later have larger ids.
+     *
+     * @return The id of the task.
+     */
+    public long getId() {
+        return this.id;
+    }
+
+    /**
+     * Sets the id of the task.
+     *
+     * @param id The id of the task.
+     */
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    /**
+     * Returns whether the task has to be done before the given date.
+     * Tasks without a date never are.
+     *
+     * @param date The date to compare with.
+     * @return true if the task is due or ends before the date, false otherwise.
+     */
+    public boolean isDueBefore(LocalDate date) {
+        return false;
+    }
+
+    /**
+     * Returns the description of the task.
+     *
+     * @return The description of the task.
+     */
+    public String getDescription() {
+        return this.description;
+    }
+
+    /**
+     * Sets the description of the task.
+     *
+     * @param description The description of the task.
+     */
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
     /**
      * Returns whether the task is done.
      *
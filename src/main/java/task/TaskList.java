@@ -1,15 +1,35 @@
 package task;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 
 import exceptions.TaskIndexOutOfBound;
 
 /**
  * The TaskList class represents a list of tasks.
  * It provides methods to add, delete, mark, unmark, and retrieve tasks.
+ * It also keeps track of whether it has changed since it was last saved.
+ * Every task is given a stable id when it is added, so the ids increase along the list
+ * and a task can be found by binary search on its id. The tasks are also kept in a map
+ * from their ids, so a task can be looked up, marked or unmarked by id in constant time.
+ * Deleting a task only marks its slot in the backing list as dead. A tree counting the live slots
+ * maps task numbers to slots, and the dead slots are removed in one pass once they outnumber the live ones.
  */
 public class TaskList {
-    private final ArrayList<Task> tasks;
+    private final ArrayList<Task> slots;
+    private final BitSet deadSlots = new BitSet();
+    private final LongTaskMap tasksById;
+    private final List<Task> liveTasks = new LiveTaskView();
+    private FenwickTree liveSlots;
+    private TaskSearchIndex searchIndex;
+    private int liveCount;
+    private int deadCount;
+    private boolean hasUnsavedChanges;
+    private long nextId = 1;
 
     /**
      * Constructs a TaskList object with the specified list of tasks.
@@ -17,7 +37,15 @@ public class TaskList {
      * @param taskList The initial list of tasks.
      */
     public TaskList(ArrayList<Task> taskList) {
-        this.tasks = taskList;
+        this.slots = taskList;
+        this.tasksById = new LongTaskMap(taskList.size());
+        for (Task task : taskList) {
+            task.setId(nextId++);
+            tasksById.put(task.getId(), task);
+        }
+        this.liveCount = taskList.size();
+        rebuildLiveSlots();
+        this.searchIndex = new TaskSearchIndex(taskList);
     }
 
     /**
@@ -26,7 +54,50 @@ public class TaskList {
      * @param task The task to be added.
      */
     public void addTask(Task task) {
-        tasks.add(task);
+        task.setId(nextId++);
+        if (slots.size() == liveSlots.capacity()) {
+            compact();
+            slots.add(task);
+            liveCount++;
+            rebuildLiveSlots();
+        } else {
+            slots.add(task);
+            liveSlots.add(slots.size() - 1, 1);
+            liveCount++;
+        }
+        tasksById.put(task.getId(), task);
+        searchIndex.add(task);
+        recordChange();
+    }
+
+    /**
+     * Inserts a task that was previously in the task list back at the specified index, keeping its id.
+     * This is used to undo a deletion, which restores the order of the ids.
+     * If the slot of the deleted task has not been compacted away yet, it is simply brought back to life.
+     *
+     * @param index The index to insert the task at.
+     * @param task The task to be inserted.
+     * @throws TaskIndexOutOfBound if the index is out of range (index < 0 || index > tasks.size()).
+     */
+    public void insertTask(int index, Task task) throws TaskIndexOutOfBound {
+        if (index < 0 || index > liveCount) {
+            throw new TaskIndexOutOfBound();
+        }
+        int slot = findSlot(task.getId());
+        if (slot >= 0 && slots.get(slot) == task && deadSlots.get(slot) && liveSlots.prefixSum(slot) == index) {
+            deadSlots.clear(slot);
+            deadCount--;
+            liveSlots.add(slot, 1);
+            liveCount++;
+        } else {
+            compact();
+            slots.add(index, task);
+            liveCount++;
+            rebuildLiveSlots();
+            searchIndex.add(task);
+        }
+        tasksById.put(task.getId(), task);
+        recordChange();
     }
 
     /**
@@ -36,10 +107,59 @@ public class TaskList {
      * @throws TaskIndexOutOfBound if the index is out of range (index < 0 || index >= tasks.size()).
      */
     public void deleteTask(int index) throws TaskIndexOutOfBound {
-        if (index < 0 || index >= tasks.size()) {
-            throw new TaskIndexOutOfBound();
+        int slot = getSlot(index);
+        Task task = slots.get(slot);
+        deadSlots.set(slot);
+        deadCount++;
+        liveSlots.add(slot, -1);
+        liveCount--;
+        tasksById.remove(task.getId());
+        recordChange();
+        if (deadCount > liveCount) {
+            compact();
+        }
+    }
+
+    /**
+     * Deletes the tasks at the specified indexes as one batch.
+     * Every index is checked before any task is deleted, so either all of the tasks are deleted or none is.
+     *
+     * @param indexes The indexes of the tasks to be deleted, in ascending order.
+     * @throws TaskIndexOutOfBound if any of the indexes is out of range.
+     */
+    public void deleteTasks(int[] indexes) throws TaskIndexOutOfBound {
+        checkIndexes(indexes);
+        for (int i = indexes.length - 1; i >= 0; i--) {
+            deleteTask(indexes[i]);
+        }
+    }
+
+    /**
+     * Marks or unmarks the tasks at the specified indexes as one batch.
+     * Every index is checked before any task is changed, so either all of the tasks are changed or none is.
+     *
+     * @param indexes The indexes of the tasks to be changed.
+     * @param isDone Whether the tasks should be marked as done.
+     * @throws TaskIndexOutOfBound if any of the indexes is out of range.
+     */
+    public void markTasks(int[] indexes, boolean isDone) throws TaskIndexOutOfBound {
+        checkIndexes(indexes);
+        for (int index : indexes) {
+            if (isDone) {
+                markTask(index);
+            } else {
+                unmarkTask(index);
+            }
+        }
+    }
+
+    private void checkIndexes(int[] indexes) throws TaskIndexOutOfBound {
+        int size = getTasks().size();
+        for (int index : indexes) {
+            if (index < 0 || index >= size) {
+                throw new TaskIndexOutOfBound();
+            }
         }
-        tasks.remove(index);
     }
 
     /**
@@ -49,10 +169,8 @@ public class TaskList {
      * @throws TaskIndexOutOfBound if the index is out of range (index < 0 || index >= tasks.size()).
      */
     public void markTask(int index) throws TaskIndexOutOfBound {
-        if (index < 0 || index >= tasks.size()) {
-            throw new TaskIndexOutOfBound();
-        }
-        tasks.get(index).setMarkStatus(true);
+        getTask(index).setMarkStatus(true);
+        recordChange();
     }
 
     /**
@@ -62,10 +180,45 @@ public class TaskList {
      * @throws TaskIndexOutOfBound if the index is out of range (index < 0 || index >= tasks.size()).
      */
     public void unmarkTask(int index) throws TaskIndexOutOfBound {
-        if (index < 0 || index >= tasks.size()) {
+        getTask(index).setMarkStatus(false);
+        recordChange();
+    }
+
+    /**
+     * Marks the task with the specified id as done.
+     *
+     * @param id The id of the task to be marked as done.
+     * @throws TaskIndexOutOfBound if there is no task with the id in the task list.
+     */
+    public void markTaskById(long id) throws TaskIndexOutOfBound {
+        getTaskById(id).setMarkStatus(true);
+        recordChange();
+    }
+
+    /**
+     * Unmarks the task with the specified id as not done.
+     *
+     * @param id The id of the task to be unmarked.
+     * @throws TaskIndexOutOfBound if there is no task with the id in the task list.
+     */
+    public void unmarkTaskById(long id) throws TaskIndexOutOfBound {
+        getTaskById(id).setMarkStatus(false);
+        recordChange();
+    }
+
+    /**
+     * Retrieves the task with the specified id.
+     *
+     * @param id The id of the task to be retrieved.
+     * @return The task with the id.
+     * @throws TaskIndexOutOfBound if there is no task with the id in the task list.
+     */
+    public Task getTaskById(long id) throws TaskIndexOutOfBound {
+        Task task = tasksById.get(id);
+        if (task == null) {
             throw new TaskIndexOutOfBound();
         }
-        tasks.get(index).setMarkStatus(false);
+        return task;
     }
 
     /**
@@ -76,18 +229,186 @@ public class TaskList {
      * @throws TaskIndexOutOfBound if the index is out of range (index < 0 || index >= tasks.size()).
      */
     public Task getTask(int index) throws TaskIndexOutOfBound {
-        if (index < 0 || index >= tasks.size()) {
-            throw new TaskIndexOutOfBound();
+        return slots.get(getSlot(index));
+    }
+
+    /**
+     * Returns the index of a task in the task list.
+     * The expected index is checked first, and otherwise the task is found by binary search on its id.
+     *
+     * @param task The task to look for.
+     * @param expectedIndex The index the task is expected to be at.
+     * @return The index of the task, or -1 if it is not in the task list.
+     */
+    public int indexOf(Task task, int expectedIndex) {
+        if (tasksById.get(task.getId()) != task) {
+            return -1;
         }
-        return tasks.get(index);
+        if (expectedIndex >= 0 && expectedIndex < liveCount && slots.get(liveSlots.select(expectedIndex)) == task) {
+            return expectedIndex;
+        }
+        int slot = findSlot(task.getId());
+        return slot < 0 ? -1 : liveSlots.prefixSum(slot);
     }
 
     /**
      * Returns the list of tasks.
+     * The list is a read-only view that skips deleted tasks and follows later changes to the task list.
      *
      * @return The list of tasks.
      */
-    public ArrayList<Task> getTasks() {
-        return tasks;
+    public List<Task> getTasks() {
+        return liveTasks;
+    }
+
+    /**
+     * Finds the tasks whose string representation contains the keyword.
+     * Keywords of three or more characters are looked up in the search index, which is built when
+     * the task list is loaded and rebuilt whenever deleted tasks are compacted away.
+     * Deleted tasks that are still in the index are left out of the results.
+     *
+     * @param keyword The keyword to search for, which must not contain any spaces.
+     * @return The matching tasks, in the order of the task list.
+     */
+    public ArrayList<Task> findTasks(String keyword) {
+        if (!TaskSearchIndex.isSearchable(keyword)) {
+            ArrayList<Task> matchingTasks = new ArrayList<>();
+            for (Task task : liveTasks) {
+                if (task.toString().contains(keyword)) {
+                    matchingTasks.add(task);
+                }
+            }
+            return matchingTasks;
+        }
+
+        ArrayList<Task> matchingTasks = searchIndex.find(keyword);
+        if (deadCount > 0) {
+            matchingTasks.removeIf(task -> tasksById.get(task.getId()) != task);
+        }
+        return matchingTasks;
+    }
+
+    /**
+     * Returns whether the task list has changed since it was last saved.
+     *
+     * @return true if there are changes that have not been saved, false otherwise.
+     */
+    public boolean hasUnsavedChanges() {
+        return hasUnsavedChanges;
+    }
+
+    /**
+     * Records that the current state of the task list has been saved.
+     */
+    public void markAsSaved() {
+        hasUnsavedChanges = false;
+    }
+
+    /**
+     * Records that the task list has changed and needs to be saved.
+     */
+    protected void recordChange() {
+        hasUnsavedChanges = true;
+    }
+
+    private int getSlot(int index) throws TaskIndexOutOfBound {
+        if (index < 0 || index >= liveCount) {
+            throw new TaskIndexOutOfBound();
+        }
+        return liveSlots.select(index);
+    }
+
+    /**
+     * Finds the slot holding the task with the given id, which may be a dead slot.
+     *
+     * @return The slot of the task, or -1 if no slot holds it.
+     */
+    private int findSlot(long id) {
+        int low = 0;
+        int high = slots.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = slots.get(mid).getId();
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes the dead slots from the backing list in one pass and rebuilds the structures
+     * that refer to slots, so that every slot is live afterwards.
+     */
+    private void compact() {
+        if (deadCount == 0) {
+            return;
+        }
+        int live = 0;
+        for (int slot = 0; slot < slots.size(); slot++) {
+            if (!deadSlots.get(slot)) {
+                slots.set(live++, slots.get(slot));
+            }
+        }
+        slots.subList(live, slots.size()).clear();
+        deadSlots.clear();
+        deadCount = 0;
+        rebuildLiveSlots();
+        searchIndex = new TaskSearchIndex(slots);
+    }
+
+    /**
+     * Rebuilds the tree counting live slots, with room for the list to double in size.
+     * There must be no dead slots.
+     */
+    private void rebuildLiveSlots() {
+        assert deadCount == 0 : "dead slots should be compacted before rebuilding";
+        liveSlots = new FenwickTree(Math.max(16, slots.size() * 2), slots.size());
+    }
+
+    /**
+     * The LiveTaskView class is a read-only view of the live tasks, in the order of the task list.
+     * Iterating over it walks the backing list once and skips the dead slots.
+     */
+    private class LiveTaskView extends AbstractList<Task> {
+
+        @Override
+        public Task get(int index) {
+            if (index < 0 || index >= liveCount) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + liveCount);
+            }
+            return slots.get(liveSlots.select(index));
+        }
+
+        @Override
+        public int size() {
+            return liveCount;
+        }
+
+        @Override
+        public Iterator<Task> iterator() {
+            return new Iterator<>() {
+                private int slot = deadSlots.nextClearBit(0);
+
+                @Override
+                public boolean hasNext() {
+                    return slot < slots.size();
+                }
+
+                @Override
+                public Task next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    Task task = slots.get(slot);
+                    slot = deadSlots.nextClearBit(slot + 1);
+                    return task;
+                }
+            };
+        }
     }
 }
@@ -0,0 +1,178 @@
+package task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The TaskSearchIndex class is a trigram index over the string representations of tasks.
+ * For every run of three characters within a word of a task, it keeps the tasks containing it, ordered by id.
+ * A keyword without spaces can only be contained in a task that contains all of its trigrams,
+ * so a search only checks the tasks of the keyword's rarest trigram with {@link String#contains},
+ * and returns the same tasks as a linear scan.
+ * Keywords shorter than a trigram cannot be looked up and have to be matched against every task.
+ */
+public class TaskSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+
+    /**
+     * Constructs a TaskSearchIndex containing the given tasks.
+     *
+     * @param tasks The tasks to index.
+     */
+    public TaskSearchIndex(Collection<Task> tasks) {
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Adds a task to the index.
+     *
+     * @param task The task to be added.
+     */
+    public void add(Task task) {
+        String text = task.toString();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            if (isWithinWord(text, i)) {
+                postings.computeIfAbsent(text.substring(i, i + GRAM_LENGTH), key -> new PostingList()).add(task);
+            }
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param task The task to be removed.
+     */
+    public void remove(Task task) {
+        String text = task.toString();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            if (!isWithinWord(text, i)) {
+                continue;
+            }
+            String trigram = text.substring(i, i + GRAM_LENGTH);
+            PostingList postingList = postings.get(trigram);
+            if (postingList != null && postingList.remove(task) && postingList.size == 0) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    /**
+     * Returns whether the index can look up the given keyword, i.e. whether it is at least a trigram long.
+     *
+     * @param keyword The keyword to search for.
+     * @return true if the keyword can be looked up, false if every task has to be checked instead.
+     */
+    public static boolean isSearchable(String keyword) {
+        return keyword.length() >= GRAM_LENGTH;
+    }
+
+    /**
+     * Finds the tasks whose string representation contains the keyword.
+     * The keyword must not contain any spaces and must be searchable.
+     *
+     * @param keyword The keyword to search for.
+     * @return The matching tasks, ordered by their id.
+     */
+    public ArrayList<Task> find(String keyword) {
+        assert !keyword.contains(" ") : "keyword should not contain spaces";
+        assert isSearchable(keyword) : "keyword should be at least a trigram long";
+
+        ArrayList<Task> result = new ArrayList<>();
+
+        PostingList candidates = null;
+        for (int i = 0; i + GRAM_LENGTH <= keyword.length(); i++) {
+            PostingList postingList = postings.get(keyword.substring(i, i + GRAM_LENGTH));
+            if (postingList == null) {
+                return result;
+            }
+            if (candidates == null || postingList.size < candidates.size) {
+                candidates = postingList;
+            }
+        }
+
+        for (int i = 0; i < candidates.size; i++) {
+            Task task = candidates.tasks[i];
+            if (task.toString().contains(keyword)) {
+                result.add(task);
+            }
+        }
+        return result;
+    }
+
+    private static boolean isWithinWord(String text, int start) {
+        for (int i = start; i < start + GRAM_LENGTH; i++) {
+            if (text.charAt(i) == ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The PostingList class holds the tasks containing one trigram in an array ordered by id,
+     * which is cheaper to build and to scan than a set of tasks.
+     */
+    private static class PostingList {
+        private Task[] tasks = new Task[2];
+        private int size;
+
+        /**
+         * Adds a task, ignoring a task that is already in the list.
+         */
+        void add(Task task) {
+            if (size > 0 && tasks[size - 1] == task) {
+                return;
+            }
+            int index = size == 0 || tasks[size - 1].getId() < task.getId() ? size : indexOf(task.getId());
+            if (index < 0) {
+                index = -index - 1;
+            } else if (index < size) {
+                return;
+            }
+            if (size == tasks.length) {
+                tasks = Arrays.copyOf(tasks, size * 2);
+            }
+            System.arraycopy(tasks, index, tasks, index + 1, size - index);
+            tasks[index] = task;
+            size++;
+        }
+
+        /**
+         * Removes a task, returning whether it was in the list.
+         */
+        boolean remove(Task task) {
+            int index = indexOf(task.getId());
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(tasks, index + 1, tasks, index, size - index - 1);
+            tasks[--size] = null;
+            return true;
+        }
+
+        private int indexOf(long id) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long midId = tasks[mid].getId();
+                if (midId < id) {
+                    low = mid + 1;
+                } else if (midId > id) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package ui;
+
+/**
+ * The ChatMessage class is one message in the transcript of the GUI, said either by the user or by the bot.
+ * Messages hold no scene-graph nodes, so the transcript can keep any number of them
+ * while only the visible ones are drawn.
+ */
+public class ChatMessage {
+
+    private final boolean isFromUser;
+    private final String text;
+
+    private ChatMessage(boolean isFromUser, String text) {
+        this.isFromUser = isFromUser;
+        this.text = text;
+    }
+
+    /**
+     * Creates a message entered by the user.
+     *
+     * @param text The user's input message.
+     * @return The user's message.
+     */
+    public static ChatMessage fromUser(String text) {
+        return new ChatMessage(true, text);
+    }
+
+    /**
+     * Creates a message sent by the bot.
+     *
+     * @param text The bot's response message.
+     * @return The bot's message.
+     */
+    public static ChatMessage fromBot(String text) {
+        return new ChatMessage(false, text);
+    }
+
+    /**
+     * Returns a message said by the same speaker with different text.
+     *
+     * @param text The new text of the message.
+     * @return The message with the new text.
+     */
+    public ChatMessage withText(String text) {
+        return new ChatMessage(isFromUser, text);
+    }
+
+    /**
+     * Returns whether the message was entered by the user.
+     *
+     * @return true if the user said the message, false if the bot did.
+     */
+    public boolean isFromUser() {
+        return this.isFromUser;
+    }
+
+    /**
+     * Returns the text of the message.
+     *
+     * @return The text of the message.
+     */
+    public String getText() {
+        return this.text;
+    }
+}
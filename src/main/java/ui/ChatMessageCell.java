@@ -0,0 +1,42 @@
+package ui;
+
+import javafx.scene.control.ListCell;
+import javafx.scene.image.Image;
+
+/**
+ * The ChatMessageCell class shows one message of the transcript in its list view.
+ * The list view only creates cells for the visible rows and reuses them as the transcript scrolls,
+ * so each cell keeps a single dialog box and shows whichever message it is given in it.
+ */
+public class ChatMessageCell extends ListCell<ChatMessage> {
+
+    private final DialogBox dialogBox = new DialogBox();
+    private final Image userImage;
+    private final Image botImage;
+
+    /**
+     * Constructs a ChatMessageCell showing messages with the given profile images.
+     *
+     * @param userImage The user's profile image.
+     * @param botImage The bot's profile image.
+     */
+    public ChatMessageCell(Image userImage, Image botImage) {
+        this.userImage = userImage;
+        this.botImage = botImage;
+        // Let the list view size the cell to its width, so long messages wrap instead of scrolling sideways
+        setPrefWidth(0);
+    }
+
+    @Override
+    protected void updateItem(ChatMessage message, boolean empty) {
+        super.updateItem(message, empty);
+        setText(null);
+        if (empty || message == null) {
+            setGraphic(null);
+            return;
+        }
+
+        dialogBox.showMessage(message.getText(), message.isFromUser() ? userImage : botImage, message.isFromUser());
+        setGraphic(dialogBox);
+    }
+}
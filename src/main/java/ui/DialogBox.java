@@ -1,85 +1,69 @@
 package ui;
 
-import java.io.IOException;
-import java.util.Collections;
-
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
 
 /**
  * Represents a dialog box consisting of an ImageView to represent the speaker's face
  * and a label containing text from the speaker.
+ * The nodes are built in code rather than loaded from an FXML file,
+ * so creating a dialog box costs no XML parsing or reflection.
  */
 public class DialogBox extends HBox {
-    @FXML
-    private Label dialog;
-    @FXML
-    private ImageView displayPicture;
+    private static final double SPACING = 10.0;
+    private static final double PREF_WIDTH = 400.0;
+    private static final double PICTURE_SIZE = 99.0;
+    private static final Insets PADDING = new Insets(15.0, 5.0, 15.0, 5.0);
+
+    private final Label dialog = new Label();
+    private final ImageView displayPicture = new ImageView();
 
     /**
-     * Constructs an ui.DialogBox with the specified text and image.
-     * The layout is loaded from an FXML file, and the text and image are displayed.
-     * Optionally flips the dialog layout to switch text and image positions.
-     *
-     * @param text The text to be displayed in the dialog.
-     * @param img The image to be displayed alongside the text.
-     * @param flip If true, the dialog box is flipped so that the image is on the left.
+     * Constructs an empty ui.DialogBox.
+     * A message is shown with {@link #showMessage}.
+     * A dialog box can be reused to show different messages, so the transcript only needs one per visible row.
      */
-    private DialogBox(String text, Image img, boolean flip) {
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+    public DialogBox() {
+        setAlignment(Pos.TOP_RIGHT);
+        setMaxHeight(Double.MAX_VALUE);
+        setMaxWidth(Double.MAX_VALUE);
+        setPrefWidth(PREF_WIDTH);
+        setSpacing(SPACING);
+        setPadding(PADDING);
 
-        dialog.setText(text);
-        displayPicture.setImage(img);
-
-        if (flip) {
-            flip();
-        }
-    }
+        dialog.setWrapText(true);
+        dialog.setMinHeight(Region.USE_PREF_SIZE);
+        displayPicture.setFitHeight(PICTURE_SIZE);
+        displayPicture.setFitWidth(PICTURE_SIZE);
+        displayPicture.setPickOnBounds(true);
+        displayPicture.setPreserveRatio(true);
 
-    /**
-     * Flips the dialog box such that the ImageView is on the left and text on the right.
-     */
-    private void flip() {
-        ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
-        Collections.reverse(tmp);
-        getChildren().setAll(tmp);
-        setAlignment(Pos.TOP_LEFT);
+        getChildren().setAll(dialog, displayPicture);
     }
 
     /**
-     * Creates a dialog box for the user with their profile image and message.
+     * Shows a message in the dialog box, replacing the message shown before.
+     * The user's messages have the image on the right, and the bot's messages have the image on the left.
      *
-     * @param text The user's input message.
-     * @param img The user's profile image.
-     * @return An ui.DialogBox representing the user's message.
+     * @param text The text to be displayed in the dialog.
+     * @param img The image to be displayed alongside the text.
+     * @param isFromUser If true, the text is followed by the image, otherwise the image is followed by the text.
      */
-    public static DialogBox getUserDialog(String text, Image img) {
-        return new DialogBox(text, img, false);
-    }
+    public void showMessage(String text, Image img, boolean isFromUser) {
+        dialog.setText(text);
+        displayPicture.setImage(img);
 
-    /**
-     * Creates a dialog box for the bot with its profile image and response.
-     *
-     * @param text The bots' response message.
-     * @param img The bots' profile image.
-     * @return An ui.DialogBox representing the bots' response.
-     */
-    public static DialogBox getBotDialog(String text, Image img) {
-        return new DialogBox(text, img, true);
+        if (isFromUser) {
+            getChildren().setAll(dialog, displayPicture);
+            setAlignment(Pos.TOP_RIGHT);
+        } else {
+            getChildren().setAll(displayPicture, dialog);
+            setAlignment(Pos.TOP_LEFT);
+        }
     }
 }
@@ -1,34 +1,53 @@
 package ui;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
 import main.Duke;
 
 /**
  * Controller for the main GUI.
+ * Commands are run one at a time, in the order they were entered, on a background thread,
+ * so the window stays responsive while a command is being processed.
+ * Each command shows a pending reply that is filled in once its response is ready.
+ * The transcript is a list view of messages, which only creates dialog boxes for the visible rows,
+ * so long sessions do not slow the window down.
+ * The system property {@code chattybuddy.transcriptLimit} sets how many messages are kept,
+ * dropping the oldest ones first; by default every message is kept.
  */
 public class MainWindow extends AnchorPane {
     @FXML
     private static final int DELAY_IN_MILLISECONDS = 1500;
+    private static final String PENDING_TEXT = "...";
+    private static final String GOODBYE_MESSAGE = "Bye. Hope to see you again soon!";
+    private static final String TRANSCRIPT_LIMIT_PROPERTY = "chattybuddy.transcriptLimit";
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ListView<ChatMessage> transcript;
     @FXML
     private TextField userInput;
 
     private Duke chattyBuddy;
+    private final int transcriptLimit = Integer.getInteger(TRANSCRIPT_LIMIT_PROPERTY, 0);
+    private final ExecutorService commandExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "chattybuddy-commands");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     private final Image userImage = new Image(this.getClass().getResourceAsStream("/images/DaUser.png"));
     private final Image botImage = new Image(this.getClass().getResourceAsStream("/images/chatbot.jpg"));
 
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        transcript.setCellFactory(listView -> new ChatMessageCell(userImage, botImage));
     }
 
     /**
@@ -39,7 +58,8 @@ public class MainWindow extends AnchorPane {
     }
 
     /**
-     * Handles user input and bot response, updating the dialog container.
+     * Handles user input and bot response, updating the transcript.
+     * The command is queued on the command thread, and a pending reply is shown until its response arrives.
      */
     @FXML
     private void handleUserInput() {
@@ -48,34 +68,69 @@ public class MainWindow extends AnchorPane {
             return; // Ignore empty input
         }
 
-        String response = chattyBuddy.getResponse(input);
-
-        // Add user message to the dialog container
-        addDialog(DialogBox.getUserDialog(input, userImage));
-
-        // If the response is null, it indicates "bye" was entered, show goodbye and exit
-        if (response == null) {
-            showGoodbyeMessage();
-            // Use a delay before exiting to allow the user to see the goodbye message
-            new java.util.Timer().schedule(new java.util.TimerTask() {
-                @Override
-                public void run() {
-                    System.exit(0);
-                }
-            }, DELAY_IN_MILLISECONDS);
-        } else {
-            addDialog(DialogBox.getBotDialog(response, botImage));
+        // Add user message and a pending reply to the transcript
+        addMessage(ChatMessage.fromUser(input));
+        ChatMessage reply = ChatMessage.fromBot(PENDING_TEXT);
+        addMessage(reply);
+        userInput.clear();
+
+        CompletableFuture.supplyAsync(() -> chattyBuddy.getResponse(input), commandExecutor)
+                .whenComplete((response, error) -> Platform.runLater(() -> showResponse(reply, response, error)));
+    }
+
+    /**
+     * Fills in the reply to a command once its response is ready.
+     * A null response indicates "bye" was entered, so the goodbye message is shown and the application exits.
+     */
+    private void showResponse(ChatMessage reply, String response, Throwable error) {
+        if (error != null) {
+            Throwable cause = error.getCause() != null ? error.getCause() : error;
+            replaceMessage(reply, reply.withText("Error: " + cause.getMessage()));
+            return;
+        }
+        if (response != null) {
+            replaceMessage(reply, reply.withText(response));
+            return;
         }
 
-        userInput.clear();
+        replaceMessage(reply, reply.withText(GOODBYE_MESSAGE));
+        userInput.setDisable(true);
+        // Use a delay before exiting to allow the user to see the goodbye message
+        new java.util.Timer().schedule(new java.util.TimerTask() {
+            @Override
+            public void run() {
+                System.exit(0);
+            }
+        }, DELAY_IN_MILLISECONDS);
+    }
+
+    /**
+     * Adds a message to the end of the transcript and scrolls to it,
+     * dropping the oldest messages if the transcript is longer than its limit.
+     * @param message The message to be added.
+     */
+    private void addMessage(ChatMessage message) {
+        ObservableList<ChatMessage> messages = transcript.getItems();
+        messages.add(message);
+        if (transcriptLimit > 0 && messages.size() > transcriptLimit) {
+            messages.remove(0, messages.size() - transcriptLimit);
+        }
+        transcript.scrollTo(messages.size() - 1);
     }
 
     /**
-     * Adds a dialog to the dialog container.
-     * @param dialog The dialog box to be added.
+     * Replaces a message in the transcript, such as a pending reply, with an updated one.
+     * The message is searched for from the end, where pending replies are.
+     * If it has already been dropped from the transcript, the updated message is added instead.
      */
-    private void addDialog(DialogBox dialog) {
-        dialogContainer.getChildren().add(dialog);
+    private void replaceMessage(ChatMessage message, ChatMessage updated) {
+        ObservableList<ChatMessage> messages = transcript.getItems();
+        int index = messages.lastIndexOf(message);
+        if (index < 0) {
+            addMessage(updated);
+            return;
+        }
+        messages.set(index, updated);
     }
 
     /**
@@ -88,14 +143,14 @@ public class MainWindow extends AnchorPane {
                 + " | |   | '_ \\ / _` | __|  __/ _` / __/ __| '_ \\| | '__|\n"
                 + " | \\__/\\ | | | (_| | |_| | | (_| \\__ \\__ \\ | | | | |   \n"
                 + "  \\____/_| |_|\\__,_|\\__\\_|  \\__,_|___/___/_| |_|_|_|   \n";
-        addDialog(DialogBox.getBotDialog("Hello from\n" + logo
-                                          + "\nHello! I'm ChattyBuddy\nWhat can I do for you?", botImage));
+        addMessage(ChatMessage.fromBot("Hello from\n" + logo
+                                        + "\nHello! I'm ChattyBuddy\nWhat can I do for you?"));
     }
 
     /**
      * Shows the goodbye message to the user
      */
     public void showGoodbyeMessage() {
-        addDialog(DialogBox.getBotDialog("Bye. Hope to see you again soon!", botImage));
+        addMessage(ChatMessage.fromBot(GOODBYE_MESSAGE));
     }
 }
@@ -0,0 +1,70 @@
+package undo;
+
+import java.util.List;
+
+import task.Task;
+
+/**
+ * The CommandRecord class remembers a command that changed the task list,
+ * together with the tasks it changed and the positions of those tasks, so that the command can be undone
+ * without searching the task list. A command that changed several tasks at once is undone as a whole.
+ */
+public class CommandRecord {
+
+    private final String command;
+    private final List<Task> tasks;
+    private final int[] indexes;
+
+    /**
+     * Constructs a CommandRecord for a command and the task it changed.
+     *
+     * @param command The command keyword that the user entered (e.g. mark).
+     * @param task The task associated with the command.
+     * @param index The index of the task in the task list when the command was entered.
+     */
+    public CommandRecord(String command, Task task, int index) {
+        this(command, List.of(task), new int[] {index});
+    }
+
+    /**
+     * Constructs a CommandRecord for a command and the tasks it changed.
+     *
+     * @param command The command keyword that the user entered (e.g. mark).
+     * @param tasks The tasks associated with the command.
+     * @param indexes The indexes of the tasks in the task list when the command was entered, in ascending order.
+     */
+    public CommandRecord(String command, List<Task> tasks, int[] indexes) {
+        assert tasks.size() == indexes.length : "every task should have an index";
+
+        this.command = command;
+        this.tasks = tasks;
+        this.indexes = indexes;
+    }
+
+    /**
+     * Returns the command keyword that the user entered.
+     *
+     * @return The command keyword.
+     */
+    public String getCommand() {
+        return this.command;
+    }
+
+    /**
+     * Returns the tasks associated with the command.
+     *
+     * @return The tasks changed by the command.
+     */
+    public List<Task> getTasks() {
+        return this.tasks;
+    }
+
+    /**
+     * Returns the indexes of the tasks in the task list when the command was entered.
+     *
+     * @return The zero-based indexes of the tasks, in ascending order.
+     */
+    public int[] getIndexes() {
+        return this.indexes;
+    }
+}
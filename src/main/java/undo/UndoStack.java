@@ -0,0 +1,87 @@
+package undo;
+
+import exceptions.NoLastCommandToUndo;
+
+/**
+ * The UndoStack class keeps the most recent commands that can be undone in a ring buffer.
+ * Pushing and popping a command take constant time, and every command is kept,
+ * even when the same command is entered several times in a row.
+ * Once the stack is full, pushing a command forgets the oldest one.
+ */
+public class UndoStack {
+
+    /** The number of commands kept when no capacity is given. */
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    private final CommandRecord[] records;
+    private int top;
+    private int size;
+
+    /**
+     * Constructs an empty UndoStack that keeps up to {@link #DEFAULT_CAPACITY} commands.
+     */
+    public UndoStack() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty UndoStack that keeps up to the given number of commands.
+     *
+     * @param capacity The maximum number of commands to keep.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    public UndoStack(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The undo capacity should be positive");
+        }
+        this.records = new CommandRecord[capacity];
+    }
+
+    /**
+     * Pushes a command onto the stack, forgetting the oldest command if the stack is full.
+     *
+     * @param record The command to push.
+     */
+    public void push(CommandRecord record) {
+        records[top] = record;
+        top = (top + 1) % records.length;
+        if (size < records.length) {
+            size++;
+        }
+    }
+
+    /**
+     * Removes and returns the most recent command.
+     *
+     * @return The most recent command.
+     * @throws NoLastCommandToUndo if there is no command to undo.
+     */
+    public CommandRecord pop() throws NoLastCommandToUndo {
+        if (size == 0) {
+            throw new NoLastCommandToUndo();
+        }
+        top = (top - 1 + records.length) % records.length;
+        CommandRecord record = records[top];
+        records[top] = null;
+        size--;
+        return record;
+    }
+
+    /**
+     * Returns the number of commands that can be undone.
+     *
+     * @return The number of commands on the stack.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the maximum number of commands the stack keeps.
+     *
+     * @return The capacity of the stack.
+     */
+    public int getCapacity() {
+        return records.length;
+    }
+}
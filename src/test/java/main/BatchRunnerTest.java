@@ -0,0 +1,108 @@
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import storage.Storage;
+import task.Task;
+
+/**
+ * Unit tests for the BatchRunner class.
+ * This class tests that a batch of commands is saved once at the end, or not at all when it is aborted.
+ */
+public class BatchRunnerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private boolean runBatch(String filePath, String commands, boolean isAtomic) throws IOException {
+        Duke chattyBuddy = new Duke(filePath);
+        boolean isSaved = new BatchRunner(chattyBuddy, isAtomic)
+                .run(new BufferedReader(new StringReader(commands)), new PrintWriter(new StringWriter()));
+        if (isSaved) {
+            chattyBuddy.close();
+        }
+        return isSaved;
+    }
+
+    /**
+     * Tests that the changes of every command in the batch are saved.
+     */
+    @Test
+    public void testBatchIsSavedAtTheEnd() throws IOException {
+        String filePath = tempDir.resolve("tasks.txt").toString();
+
+        assertTrue(runBatch(filePath, "todo read book\ntodo return book\n\nmark 1-2\ndelete 1\nbye\ntodo ignored\n",
+                false));
+
+        assertEquals(1, new Storage(filePath, true).loadTasks().size());
+    }
+
+    /**
+     * Tests that a failed command in an atomic batch leaves the saved tasks untouched.
+     */
+    @Test
+    public void testAtomicBatchIsRolledBackOnFailure() throws IOException {
+        String filePath = tempDir.resolve("tasks.txt").toString();
+        runBatch(filePath, "todo read book\n", false);
+
+        assertFalse(runBatch(filePath, "todo return book\ndelete 5\ntodo buy milk\n", true));
+
+        assertEquals(1, new Storage(filePath, true).loadTasks().size());
+    }
+
+    /**
+     * Tests that commands rejected with a message, such as an invalid date or an undo with nothing to undo,
+     * also abort an atomic batch.
+     */
+    @Test
+    public void testAtomicBatchIsAbortedByRejectedCommands() throws IOException {
+        String filePath = tempDir.resolve("tasks.txt").toString();
+        runBatch(filePath, "todo read book\n", false);
+
+        assertFalse(runBatch(filePath, "todo return book\ndeadline submit essay /by 2024-13-45\n", true));
+        assertFalse(runBatch(filePath, "undo\ntodo buy milk\n", true));
+
+        assertEquals(1, new Storage(filePath, true).loadTasks().size());
+    }
+
+    /**
+     * Tests that the changes of an aborted atomic batch are not written by the flush on shutdown
+     * when saves are asynchronous.
+     */
+    @Test
+    public void testAbortedBatchIsNotFlushedOnClose() throws IOException {
+        String filePath = tempDir.resolve("tasks.txt").toString();
+        runBatch(filePath, "todo read book\n", false);
+
+        System.setProperty("chattybuddy.flushWindowMillis", "50");
+        Duke chattyBuddy;
+        try {
+            chattyBuddy = new Duke(filePath);
+        } finally {
+            System.clearProperty("chattybuddy.flushWindowMillis");
+        }
+        assertFalse(new BatchRunner(chattyBuddy, true).run(
+                new BufferedReader(new StringReader("todo return book\nmark 1\ndelete 5\n")),
+                new PrintWriter(new StringWriter())));
+        assertEquals("Here are the tasks in your list:\n[T][ ] read book", chattyBuddy.getResponse("list"),
+                "The tasks should be back as they were saved");
+        chattyBuddy.close();
+
+        List<Task> tasks = new Storage(filePath, true).loadTasks();
+        assertEquals(1, tasks.size());
+        assertFalse(tasks.get(0).getIsDone(), "The mark of the aborted batch should not be saved");
+    }
+}
@@ -1,4 +1,64 @@
 package main;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for the Duke class.
+ * This class tests that the commands run through ChattyBuddy are recorded in its statistics.
+ */
 public class ChattyBuddyTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Tests that the stats command reports the commands run so far, including failed ones,
+     * whether they fail with an error or are rejected with a message.
+     */
+    @Test
+    public void testStatsReportsCommands() {
+        Duke chattyBuddy = new Duke(tempDir.resolve("tasks.txt").toString());
+        chattyBuddy.getResponse("todo read book");
+        chattyBuddy.getResponse("mark 1");
+        chattyBuddy.getResponse("mark 5");
+        chattyBuddy.getResponse("blah");
+        chattyBuddy.getResponse("deadline submit essay /by 2024-13-45");
+        chattyBuddy.getResponse("undo 2");
+        chattyBuddy.getResponse("undo");
+
+        String report = chattyBuddy.getResponse("stats");
+        chattyBuddy.close();
+
+        assertTrue(report.contains("todo: 1 run, 0 failed"), report);
+        assertTrue(report.contains("mark: 2 run, 1 failed"), report);
+        assertTrue(report.contains("unknown: 1 run, 1 failed"), report);
+        assertTrue(report.contains("deadline: 1 run, 1 failed"), report);
+        assertTrue(report.contains("undo: 2 run, 1 failed"), report);
+        assertFalse(report.contains("stats:"), report);
+    }
+
+    /**
+     * Tests that an undo capacity that is not positive falls back to the default instead of failing on startup.
+     */
+    @Test
+    public void testInvalidUndoCapacityFallsBackToDefault() {
+        System.setProperty("chattybuddy.undoCapacity", "0");
+        Duke chattyBuddy;
+        try {
+            chattyBuddy = new Duke(tempDir.resolve("tasks.txt").toString());
+        } finally {
+            System.clearProperty("chattybuddy.undoCapacity");
+        }
+        chattyBuddy.getResponse("todo read book");
+
+        assertEquals("The previous command has been undone", chattyBuddy.getResponse("undo"));
+        chattyBuddy.close();
+    }
 }
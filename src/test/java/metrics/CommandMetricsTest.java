@@ -0,0 +1,49 @@
+package metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the CommandMetrics class.
+ * This class tests that commands are recorded under their keyword and shown in the report.
+ */
+public class CommandMetricsTest {
+
+    /**
+     * Tests that keywords that are not commands share the statistics of unknown commands.
+     */
+    @Test
+    public void testUnknownKeywordsShareStatistics() {
+        CommandMetrics metrics = new CommandMetrics(List.of("list", "todo"));
+
+        assertSame(metrics.getStats("list"), metrics.getStats("list"));
+        assertSame(metrics.getStats(CommandMetrics.UNKNOWN_COMMAND), metrics.getStats("blah"));
+        assertSame(metrics.getStats("blah"), metrics.getStats("foo"));
+    }
+
+    /**
+     * Tests that the report only lists the commands that have been run, with their counts.
+     */
+    @Test
+    public void testReportListsCommandsThatHaveRun() {
+        CommandMetrics metrics = new CommandMetrics(List.of("list", "todo"));
+        assertEquals("No commands have been run yet.", metrics.toReport());
+
+        metrics.getStats("todo").record(1000, 20_000, 300_000, false);
+        metrics.getStats("todo").record(1000, 5000, true);
+
+        CommandStats stats = metrics.getStats("todo");
+        assertEquals(2, stats.getCount());
+        assertEquals(1, stats.getErrorCount());
+        assertEquals(300.0, stats.getMeanPersistMicros());
+        String report = metrics.toReport();
+        assertTrue(report.contains("todo: 2 run, 1 failed"), report);
+        assertFalse(report.contains("list:"), report);
+    }
+}
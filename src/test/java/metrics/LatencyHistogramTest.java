@@ -0,0 +1,63 @@
+package metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the LatencyHistogram class.
+ * This class tests that percentiles are accurate to within the width of a bucket.
+ */
+public class LatencyHistogramTest {
+
+    /**
+     * Tests that short latencies, which have a bucket each, are counted exactly.
+     */
+    @Test
+    public void testShortLatenciesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int nanos = 1; nanos <= 20; nanos++) {
+            histogram.record(nanos);
+        }
+
+        assertEquals(20, histogram.getCount());
+        assertEquals(10, histogram.getValueAtPercentile(50));
+        assertEquals(20, histogram.getValueAtPercentile(100));
+        assertEquals(10.5, histogram.getMeanNanos());
+    }
+
+    /**
+     * Tests that percentiles of long latencies are within about 3% of the recorded latencies.
+     */
+    @Test
+    public void testPercentilesOfLongLatencies() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 1000; micros++) {
+            histogram.record(micros * 1000);
+        }
+
+        long median = histogram.getValueAtPercentile(50);
+        long percentile99 = histogram.getValueAtPercentile(99);
+        assertTrue(median >= 500_000 && median <= 500_000 * 1.04, "median was " + median);
+        assertTrue(percentile99 >= 990_000 && percentile99 <= 990_000 * 1.04, "99th percentile was " + percentile99);
+        assertEquals(1_000_000, histogram.getValueAtPercentile(100));
+        assertEquals(1_000_000, histogram.getMaxNanos());
+    }
+
+    /**
+     * Tests that an empty histogram and latencies beyond its range are handled.
+     */
+    @Test
+    public void testEmptyAndOutOfRangeLatencies() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0.0, histogram.getMeanNanos());
+
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-5);
+        assertEquals(2, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        assertEquals((1L << 40) - 1, histogram.getValueAtPercentile(100));
+    }
+}
@@ -0,0 +1,67 @@
+package parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the CommandRegistry class.
+ * This class tests that commands are found by their keyword, an alias or an unambiguous prefix,
+ * also when a later command makes a prefix ambiguous.
+ */
+public class CommandRegistryTest {
+
+    /**
+     * Tests that every word standing for exactly one command finds it.
+     */
+    @Test
+    public void testCommandsAreFoundByEveryWord() {
+        CommandRegistry registry = new CommandRegistry();
+        Command deadline = new DeadlineCommand();
+        Command list = new ListCommand();
+        registry.register(deadline);
+        registry.register(list);
+        registry.registerAlias("dl", "deadline");
+
+        assertSame(deadline, registry.find("deadline"));
+        assertSame(deadline, registry.find("d"));
+        assertSame(deadline, registry.find("dl"));
+        assertSame(list, registry.find("l"));
+        assertNull(registry.find("deadlines"));
+        assertNull(registry.find(""));
+        assertEquals("deadline,list", String.join(",", registry.getKeywords()));
+    }
+
+    /**
+     * Tests that a prefix shared by a command registered later no longer finds either command.
+     */
+    @Test
+    public void testLaterCommandMakesPrefixAmbiguous() {
+        CommandRegistry registry = new CommandRegistry();
+        Command deadline = new DeadlineCommand();
+        registry.register(deadline);
+        registry.register(new DeleteCommand());
+        registry.registerAlias("dl", "deadline");
+
+        assertNull(registry.find("d"));
+        assertNull(registry.find("de"));
+        assertSame(deadline, registry.find("dea"));
+        assertSame(deadline, registry.find("dl"));
+    }
+
+    /**
+     * Tests that only the commands which change the tasks declare so.
+     */
+    @Test
+    public void testReadOnlyCommandsAreNotMutating() {
+        assertFalse(new ListCommand().isMutating());
+        assertFalse(new FindCommand().isMutating());
+        assertTrue(new MarkCommand(true).isMutating());
+        assertTrue(new TodoCommand().isMutating());
+        assertTrue(new DeleteCommand().isMutating());
+    }
+}
@@ -0,0 +1,56 @@
+package parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the CommandTrie class.
+ * This class tests that commands are found by their keyword, an alias or an unambiguous prefix.
+ */
+public class CommandTrieTest {
+
+    private CommandTrie<String> createTrie() {
+        CommandTrie<String> trie = new CommandTrie<>();
+        trie.add("mark", "M");
+        trie.add("unmark", "U");
+        trie.add("undo", "Z");
+        trie.add("deadline", "D");
+        trie.add("delete", "X");
+        trie.addAlias("dl", "deadline");
+        return trie;
+    }
+
+    /**
+     * Tests that full keywords, aliases and prefixes shared by no other command are found.
+     */
+    @Test
+    public void testUnambiguousTextIsFound() {
+        CommandTrie<String> trie = createTrie();
+
+        assertEquals("M", trie.find("mark"));
+        assertEquals("M", trie.find("m"));
+        assertEquals("U", trie.find("unm"));
+        assertEquals("Z", trie.find("und"));
+        assertEquals("D", trie.find("dl"));
+        assertEquals("X", trie.find("del"));
+        assertEquals("D", trie.find("dea"));
+    }
+
+    /**
+     * Tests that shared prefixes, unknown words and the empty word are not found.
+     */
+    @Test
+    public void testAmbiguousOrUnknownTextIsNotFound() {
+        CommandTrie<String> trie = createTrie();
+
+        assertNull(trie.find("d"));
+        assertNull(trie.find("de"));
+        assertNull(trie.find("un"));
+        assertNull(trie.find("marks"));
+        assertNull(trie.find("Mark"));
+        assertNull(trie.find(""));
+        assertNull(trie.find("list"));
+    }
+}
@@ -1,6 +1,8 @@
 package parser;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
@@ -54,7 +56,7 @@ public class ParserTest {
 
     /**
      * Tests the "todo" command functionality of the Parser.
-     * Verifies that a new task is correctly added to the task list and saved in storage.
+     * Verifies that a new task is correctly added to the task list and flagged for saving.
      *
      * @throws InvalidInputException if the input is invalid
      * @throws EmptyTaskException if the task is empty
@@ -64,8 +66,8 @@ public class ParserTest {
     void testTodoCommandWithStorage() throws InvalidInputException, EmptyTaskException, TaskIndexOutOfBound {
         String response = Parser.parseUserCommand("todo read book", taskList, storage);
 
-        assertTrue(storage.getIsSaveTasksCalled(), "saveTasks should be called");
-        assertEquals(2, storage.getSavedTasks().size(), "There should be two tasks saved");
+        assertTrue(taskList.hasUnsavedChanges(), "The task list should be flagged for saving");
+        assertEquals(2, taskList.getTasks().size(), "There should be two tasks in the list");
         assertEquals("Got it. I've added this task:\n[T][ ] read book\nNow you have 2 tasks in the list", response);
     }
 
@@ -96,9 +98,188 @@ public class ParserTest {
     void testDeleteCommand() throws InvalidInputException, EmptyTaskException, TaskIndexOutOfBound {
         String response = Parser.parseUserCommand("delete 1", taskList, storage);
 
-        assertTrue(storage.getIsSaveTasksCalled(), "saveTasks should be called after delete");
+        assertTrue(taskList.hasUnsavedChanges(), "The task list should be flagged for saving after delete");
         assertEquals(0, taskList.getTasks().size(), "There should be no tasks left in the list");
         assertEquals("Noted. I've removed this task:\n[T][ ] finish homework"
                         + "\nNow you have 0 tasks in the list", response);
     }
+
+    /**
+     * Tests that undoing several commands of the same kind undoes each of them.
+     *
+     * @throws InvalidInputException if the input is invalid
+     * @throws EmptyTaskException if the task is empty
+     * @throws TaskIndexOutOfBound if the task index is out of bounds
+     */
+    @Test
+    void testUndoRepeatedCommands() throws InvalidInputException, EmptyTaskException, TaskIndexOutOfBound {
+        Parser.parseUserCommand("todo read book", taskList, storage);
+        Parser.parseUserCommand("todo return book", taskList, storage);
+        String response = Parser.parseUserCommand("undo 2", taskList, storage);
+
+        assertEquals("The previous commands have been undone", response);
+        assertEquals(1, taskList.getTasks().size(), "Both added tasks should be removed");
+        assertEquals("finish homework", taskList.getTask(0).toString());
+    }
+
+    /**
+     * Tests that undoing a delete puts the task back at its original position.
+     *
+     * @throws InvalidInputException if the input is invalid
+     * @throws EmptyTaskException if the task is empty
+     * @throws TaskIndexOutOfBound if the task index is out of bounds
+     */
+    @Test
+    void testUndoDeleteRestoresPosition() throws InvalidInputException, EmptyTaskException, TaskIndexOutOfBound {
+        Parser.parseUserCommand("todo read book", taskList, storage);
+        Parser.parseUserCommand("delete 1", taskList, storage);
+        Parser.parseUserCommand("undo", taskList, storage);
+
+        assertEquals(2, taskList.getTasks().size(), "The deleted task should be restored");
+        assertEquals("finish homework", taskList.getTask(0).toString());
+        assertEquals("read book", taskList.getTask(1).toString());
+    }
+
+    /**
+     * Tests that a range of tasks is marked by one command and unmarked by a single undo.
+     *
+     * @throws InvalidInputException if the input is invalid
+     * @throws EmptyTaskException if the task is empty
+     * @throws TaskIndexOutOfBound if the task index is out of bounds
+     */
+    @Test
+    void testBulkMarkIsUndoneAsOneCommand() throws InvalidInputException, EmptyTaskException, TaskIndexOutOfBound {
+        Parser.parseUserCommand("todo read book", taskList, storage);
+        Parser.parseUserCommand("todo return book", taskList, storage);
+        String response = Parser.parseUserCommand("mark 1-3", taskList, storage);
+
+        assertEquals("OK, I've marked these 3 tasks as done:\n[T][X] finish homework\n[T][X] read book"
+                + "\n[T][X] return book", response);
+
+        Parser.parseUserCommand("undo", taskList, storage);
+        for (int i = 0; i < 3; i++) {
+            assertFalse(taskList.getTask(i).getIsDone(), "Every task should be unmarked by the undo");
+        }
+    }
+
+    /**
+     * Tests that marking tasks that are all done already is not remembered for undo,
+     * so the next undo reverts the command before it.
+     *
+     * @throws InvalidInputException if the input is invalid
+     * @throws EmptyTaskException if the task is empty
+     * @throws TaskIndexOutOfBound if the task index is out of bounds
+     */
+    @Test
+    void testUnchangedBulkMarkIsNotUndone() throws InvalidInputException, EmptyTaskException, TaskIndexOutOfBound {
+        Parser.parseUserCommand("mark 1", taskList, storage);
+        Parser.parseUserCommand("mark all", taskList, storage);
+        Parser.parseUserCommand("undo", taskList, storage);
+
+        assertFalse(taskList.getTask(0).getIsDone(), "The undo should revert the first mark");
+    }
+
+    /**
+     * Tests that a list of tasks is deleted by one command and restored in place by a single undo.
+     *
+     * @throws InvalidInputException if the input is invalid
+     * @throws EmptyTaskException if the task is empty
+     * @throws TaskIndexOutOfBound if the task index is out of bounds
+     */
+    @Test
+    void testBulkDeleteIsUndoneAsOneCommand() throws InvalidInputException, EmptyTaskException, TaskIndexOutOfBound {
+        Parser.parseUserCommand("todo read book", taskList, storage);
+        Parser.parseUserCommand("deadline return book /by 2024-09-09", taskList, storage);
+        String response = Parser.parseUserCommand("delete 1,3", taskList, storage);
+
+        assertEquals("Noted. I've removed these 2 tasks:\n[T][ ] finish homework"
+                + "\n[D][ ] return book (by: 2024-09-09)\nNow you have 1 tasks in the list", response);
+
+        Parser.parseUserCommand("undo", taskList, storage);
+        assertEquals(3, taskList.getTasks().size(), "Both deleted tasks should be restored");
+        assertEquals("finish homework", taskList.getTask(0).toString());
+        assertEquals("return book (by: 2024-09-09)", taskList.getTask(2).toString());
+    }
+
+    /**
+     * Tests that task numbers separated by spaces select each of the tasks, like task numbers separated by commas.
+     *
+     * @throws InvalidInputException if the input is invalid
+     * @throws EmptyTaskException if the task is empty
+     * @throws TaskIndexOutOfBound if the task index is out of bounds
+     */
+    @Test
+    void testTaskNumbersSeparatedBySpaces() throws InvalidInputException, EmptyTaskException, TaskIndexOutOfBound {
+        for (int i = 2; i <= 6; i++) {
+            Parser.parseUserCommand("todo t" + i, taskList, storage);
+        }
+
+        String response = Parser.parseUserCommand("mark 1 2", taskList, storage);
+        assertEquals("OK, I've marked these 2 tasks as done:\n[T][X] finish homework\n[T][X] t2", response);
+        assertFalse(taskList.getTask(2).getIsDone(), "Only the two selected tasks should be marked");
+
+        response = Parser.parseUserCommand("delete 1 5", taskList, storage);
+        assertEquals("Noted. I've removed these 2 tasks:\n[T][X] finish homework\n[T][ ] t5"
+                + "\nNow you have 4 tasks in the list", response);
+        assertEquals("t2", taskList.getTask(0).toString());
+        assertEquals("t6", taskList.getTask(3).toString());
+    }
+
+    /**
+     * Tests that "all /before" only selects the tasks that are due before the date.
+     *
+     * @throws InvalidInputException if the input is invalid
+     * @throws EmptyTaskException if the task is empty
+     * @throws TaskIndexOutOfBound if the task index is out of bounds
+     */
+    @Test
+    void testMarkAllBeforeDate() throws InvalidInputException, EmptyTaskException, TaskIndexOutOfBound {
+        Parser.parseUserCommand("deadline return book /by 2024-09-09", taskList, storage);
+        Parser.parseUserCommand("deadline submit essay /by 2024-10-10", taskList, storage);
+        Parser.parseUserCommand("mark all /before 2024-10-01", taskList, storage);
+
+        assertFalse(taskList.getTask(0).getIsDone(), "A todo has no date to be due before");
+        assertTrue(taskList.getTask(1).getIsDone(), "A deadline before the date should be marked");
+        assertFalse(taskList.getTask(2).getIsDone(), "A deadline after the date should not be marked");
+    }
+
+    /**
+     * Tests that commands can be entered by an unambiguous prefix or an alias,
+     * and that the text around "/by", "/from" and "/to" is kept as it was entered.
+     *
+     * @throws InvalidInputException if the input is invalid
+     * @throws EmptyTaskException if the task is empty
+     * @throws TaskIndexOutOfBound if the task index is out of bounds
+     */
+    @Test
+    void testPrefixesAndAliases() throws InvalidInputException, EmptyTaskException, TaskIndexOutOfBound {
+        assertEquals("Got it. I've added this task:\n[D][ ] return  book (by: 2024-10-15)\n"
+                + "Now you have 2 tasks in the list",
+                Parser.parseUserCommand("dl return  book /by 15 Oct 2024", taskList, storage));
+        assertEquals("Got it. I've added this task:\n[E][ ] project meeting (from: 2024-10-15 2PM to: 2024-10-15 4PM)\n"
+                + "Now you have 3 tasks in the list",
+                Parser.parseUserCommand("ev project meeting /from 2024-10-15 1400 /to 2024-10-15 1600",
+                        taskList, storage));
+        Parser.parseUserCommand("m 2", taskList, storage);
+        assertTrue(taskList.getTask(1).getIsDone(), "m should stand for mark");
+
+        assertEquals("Error saving task details: Invalid description or date.",
+                assertThrows(InvalidInputException.class,
+                        () -> Parser.parseUserCommand("deadline return book /by", taskList, storage)).getMessage());
+        assertThrows(InvalidInputException.class, () -> Parser.parseUserCommand("d 1", taskList, storage),
+                "d could be deadline or delete");
+        assertEquals("deadline", Parser.parseCommand("dea").getCommand());
+    }
+
+    /**
+     * Tests that only the commands which can change the tasks need the tasks to be saved after them.
+     */
+    @Test
+    void testOnlyMutatingCommandsNeedSaving() {
+        assertTrue(Parser.isMutating(Parser.parseCommand("todo read book")));
+        assertTrue(Parser.isMutating(Parser.parseCommand("undo")));
+        assertFalse(Parser.isMutating(Parser.parseCommand("list")));
+        assertFalse(Parser.isMutating(Parser.parseCommand("find book")));
+        assertFalse(Parser.isMutating(Parser.parseCommand("blah")));
+    }
 }
@@ -0,0 +1,97 @@
+package storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import main.Duke;
+import parser.Parser;
+import task.Task;
+
+/**
+ * Unit tests for the BinaryTaskCodec class.
+ * This class tests that tasks survive the binary format and the conversion from the text format.
+ */
+public class BinaryTaskCodecTest {
+
+    private static final String TEXT_FILE = "T | 1 | read book\n"
+            + "D | 0 | return book | 2024-09-09\n"
+            + "E | 0 | CS seminar | 2024-10-22 1400 | 2024-10-24 0000\n";
+
+    @TempDir
+    Path tempDir;
+
+    private static List<Task> parseTextFile() {
+        List<Task> tasks = new ArrayList<>();
+        for (String line : TEXT_FILE.split("\n")) {
+            tasks.add(Parser.parseSavedData(line.split(" \\| ")));
+        }
+        return tasks;
+    }
+
+    /**
+     * Tests that every type of task is decoded exactly as it was encoded.
+     */
+    @Test
+    public void testEncodedTasksAreDecodedUnchanged() throws IOException {
+        List<Task> tasks = parseTextFile();
+        ArrayList<Task> decodedTasks = BinaryTaskCodec.decode(ByteBuffer.wrap(BinaryTaskCodec.encode(tasks)));
+
+        assertEquals(tasks.size(), decodedTasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).toSavedFormat(" | "), decodedTasks.get(i).toSavedFormat(" | "));
+        }
+    }
+
+    /**
+     * Tests that a text task file converted to the binary format and back is unchanged,
+     * and that the binary file is loaded by Storage.
+     */
+    @Test
+    public void testConvertingTaskFileBothWays() throws IOException {
+        Path textFile = tempDir.resolve("tasks.txt");
+        Path binaryFile = tempDir.resolve("tasks.bin");
+        Path convertedFile = tempDir.resolve("converted.txt");
+        Files.writeString(textFile, TEXT_FILE);
+
+        BinaryTaskCodec.convert(textFile, binaryFile);
+        BinaryTaskCodec.convert(binaryFile, convertedFile);
+
+        assertEquals(TEXT_FILE, Files.readString(convertedFile));
+        assertTrue(Files.size(binaryFile) < Files.size(textFile), "The binary file should be smaller");
+        assertEquals(3, new Storage(binaryFile.toString(), true).loadTasks().size());
+    }
+
+    /**
+     * Tests that a corrupt or truncated binary task file fails with an IOException,
+     * and that ChattyBuddy then starts with no tasks instead of crashing.
+     */
+    @Test
+    public void testCorruptTaskFileIsRejected() throws IOException {
+        byte[] encoded = BinaryTaskCodec.encode(parseTextFile());
+        byte[] badHeader = new byte[14];
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 3);
+        byte[] badLength = encoded.clone();
+        badLength[7] = (byte) 0x7F;
+
+        assertThrows(IOException.class, () -> BinaryTaskCodec.decode(ByteBuffer.wrap(badHeader)));
+        assertThrows(IOException.class, () -> BinaryTaskCodec.decode(ByteBuffer.wrap(truncated)));
+        assertThrows(IOException.class, () -> BinaryTaskCodec.decode(ByteBuffer.wrap(badLength)));
+
+        Path binaryFile = tempDir.resolve("tasks.bin");
+        Files.write(binaryFile, truncated);
+        assertThrows(IOException.class, () -> new Storage(binaryFile.toString(), true).loadTasks());
+        assertEquals("Your task list is empty.", new Duke(binaryFile.toString()).getResponse("list"));
+    }
+}
@@ -1,6 +1,7 @@
 package storage;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import task.Task;
 
@@ -49,7 +50,7 @@ public class StorageStub extends Storage {
      * @param taskList The list of tasks to be saved.
      */
     @Override
-    public void saveTasks(ArrayList<Task> taskList) {
+    public void saveTasks(List<Task> taskList) {
         tasks = new ArrayList<>(taskList);
         isSaveTasksCalled = true;
     }
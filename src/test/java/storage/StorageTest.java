@@ -1,4 +1,253 @@
 package storage;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import task.Task;
+import task.Todo;
+
+/**
+ * Unit tests for the Storage class.
+ * This class tests saving tasks through the journal and loading them back.
+ */
 public class StorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static Todo createTodo(String description) {
+        Todo todo = new Todo();
+        todo.convertStringToTask(new String[] {"todo", description});
+        return todo;
+    }
+
+    /**
+     * Tests that changes saved in journaled mode are appended to the journal
+     * and replayed on top of the task file when the tasks are loaded again.
+     */
+    @Test
+    public void testJournaledChangesAreReplayedOnLoad() throws IOException {
+        String filePath = tempDir.resolve("tasks.txt").toString();
+        Storage storage = new Storage(filePath, true);
+        ArrayList<Task> tasks = storage.loadTasks();
+
+        tasks.add(createTodo("read book"));
+        storage.recordAddition(tasks.get(0));
+        tasks.add(createTodo("return book"));
+        storage.recordAddition(tasks.get(1));
+        storage.saveTasks(tasks);
+
+        tasks.get(1).setMarkStatus(true);
+        storage.recordMarking(1, true);
+        tasks.remove(0);
+        storage.recordDeletion(0);
+        storage.saveTasks(tasks);
+
+        assertEquals("", Files.readString(Path.of(filePath)), "The task file should not be rewritten");
+
+        ArrayList<Task> loadedTasks = new Storage(filePath, true).loadTasks();
+        assertEquals(1, loadedTasks.size());
+        assertEquals("return book", loadedTasks.get(0).toString());
+        assertTrue(loadedTasks.get(0).getIsDone());
+    }
+
+    /**
+     * Tests that a task inserted back into the middle of the list is replayed at the same position.
+     */
+    @Test
+    public void testJournaledInsertionIsReplayedAtItsIndex() throws IOException {
+        String filePath = tempDir.resolve("tasks.txt").toString();
+        Storage storage = new Storage(filePath, true);
+        ArrayList<Task> tasks = storage.loadTasks();
+        for (String description : new String[] {"read book", "return book"}) {
+            tasks.add(createTodo(description));
+            storage.recordAddition(tasks.get(tasks.size() - 1));
+        }
+
+        Task deletedTask = tasks.remove(0);
+        storage.recordDeletion(0);
+        tasks.add(0, deletedTask);
+        storage.recordInsertion(0, deletedTask);
+        storage.saveTasks(tasks);
+
+        ArrayList<Task> loadedTasks = new Storage(filePath, true).loadTasks();
+        assertEquals("read book", loadedTasks.get(0).toString());
+        assertEquals("return book", loadedTasks.get(1).toString());
+    }
+
+    /**
+     * Tests that a task list the journal cannot describe is written to the task file in full,
+     * and that the old journal is not replayed on top of it.
+     */
+    @Test
+    public void testUnrecordedChangesRewriteTaskFile() throws IOException {
+        String filePath = tempDir.resolve("tasks.txt").toString();
+        Storage storage = new Storage(filePath, true);
+        ArrayList<Task> tasks = storage.loadTasks();
+        tasks.add(createTodo("read book"));
+        storage.recordAddition(tasks.get(0));
+        storage.saveTasks(tasks);
+
+        tasks.add(createTodo("return book"));
+        storage.saveTasks(tasks);
+
+        assertEquals("T | 0 | read book\nT | 0 | return book\n", Files.readString(Path.of(filePath)));
+        assertEquals(2, new Storage(filePath, true).loadTasks().size());
+    }
+
+    /**
+     * Tests that a journal that has grown past its threshold is folded into the task file
+     * and that the tasks are still loaded correctly afterwards.
+     */
+    @Test
+    public void testJournalIsCompactedIntoTaskFile() throws IOException {
+        String filePath = tempDir.resolve("tasks.txt").toString();
+        Storage storage = new Storage(filePath, true);
+        storage.setCompactionThreshold(2, Long.MAX_VALUE);
+        ArrayList<Task> tasks = storage.loadTasks();
+
+        tasks.add(createTodo("read book"));
+        storage.recordAddition(tasks.get(0));
+        tasks.add(createTodo("return book"));
+        storage.recordAddition(tasks.get(1));
+        storage.saveTasks(tasks);
+        storage.awaitCompaction();
+
+        tasks.get(0).setMarkStatus(true);
+        storage.recordMarking(0, true);
+        storage.saveTasks(tasks);
+
+        assertEquals("T | 0 | read book\nT | 0 | return book\n", Files.readString(Path.of(filePath)));
+        ArrayList<Task> loadedTasks = new Storage(filePath, true).loadTasks();
+        assertEquals(2, loadedTasks.size());
+        assertTrue(loadedTasks.get(0).getIsDone());
+    }
+
+    /**
+     * Tests that changes saved with asynchronous flushing enabled are written by the explicit flush.
+     */
+    @Test
+    public void testAsyncChangesAreWrittenOnFlush() throws IOException {
+        String filePath = tempDir.resolve("tasks.txt").toString();
+        Storage storage = new Storage(filePath, true);
+        storage.enableAsyncFlush(60_000, 1000);
+        ArrayList<Task> tasks = storage.loadTasks();
+
+        for (int i = 0; i < 3; i++) {
+            tasks.add(createTodo("task " + i));
+            storage.recordAddition(tasks.get(i));
+            storage.saveTasks(tasks);
+        }
+        storage.flush();
+
+        assertEquals(3, new Storage(filePath, true).loadTasks().size());
+        storage.close();
+    }
+
+    /**
+     * Tests that the changes appended by the background flush are synced to the disk once per batch.
+     */
+    @Test
+    public void testBackgroundFlushIsSynced() throws IOException, InterruptedException {
+        Storage storage = new Storage(tempDir.resolve("tasks.txt").toString(), true);
+        storage.enableAsyncFlush(0, 1000);
+        ArrayList<Task> tasks = storage.loadTasks();
+        tasks.add(createTodo("read book"));
+        storage.recordAddition(tasks.get(0));
+        storage.saveTasks(tasks);
+
+        StorageMetrics metrics = storage.getMetrics();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (metrics.getJournalFlushes() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, metrics.getJournalFlushes());
+        assertEquals(1, metrics.getFsyncs());
+        storage.close();
+    }
+
+    /**
+     * Tests that a full rewrite of the task file is synced to the disk.
+     */
+    @Test
+    public void testFullRewriteIsSynced() throws IOException {
+        Storage storage = new Storage(tempDir.resolve("tasks.txt").toString(), true);
+        ArrayList<Task> tasks = storage.loadTasks();
+        tasks.add(createTodo("read book"));
+        storage.saveTasks(tasks);
+
+        assertEquals(1, storage.getMetrics().getFullRewrites());
+        assertEquals(1, storage.getMetrics().getFsyncs());
+    }
+
+    /**
+     * Tests that a compaction syncs both the compacted task file and the journal that replaces the old one.
+     */
+    @Test
+    public void testCompactionIsSynced() throws IOException {
+        Storage storage = new Storage(tempDir.resolve("tasks.txt").toString(), true);
+        storage.setCompactionThreshold(2, Long.MAX_VALUE);
+        ArrayList<Task> tasks = storage.loadTasks();
+        for (String description : new String[] {"read book", "return book"}) {
+            tasks.add(createTodo(description));
+            storage.recordAddition(tasks.get(tasks.size() - 1));
+        }
+        storage.saveTasks(tasks);
+        storage.awaitCompaction();
+
+        StorageMetrics metrics = storage.getMetrics();
+        assertEquals(1, metrics.getCompactions());
+        assertEquals(2, metrics.getFsyncs());
+    }
+
+    /**
+     * Tests that tasks are loaded from a file with Windows line endings and blank lines.
+     */
+    @Test
+    public void testLoadingTasksSkipsBlankLines() throws IOException {
+        Path filePath = tempDir.resolve("tasks.txt");
+        Files.writeString(filePath, "T | 1 | read book\r\n\r\nD | 0 | return book | 2024-09-09\r\n");
+
+        ArrayList<Task> tasks = new Storage(filePath.toString()).loadTasks();
+        assertEquals(2, tasks.size());
+        assertTrue(tasks.get(0).getIsDone());
+        assertEquals("return book (by: 2024-09-09)", tasks.get(1).toString());
+    }
+
+    /**
+     * Tests that rewrites of the task file and appends to the journal are counted in the metrics.
+     */
+    @Test
+    public void testReadsAndWritesAreCounted() throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        Storage storage = new Storage(file.toString());
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(createTodo("read book"));
+        storage.saveTasks(tasks);
+
+        StorageMetrics metrics = storage.getMetrics();
+        assertEquals(1, metrics.getFullRewrites());
+        assertEquals(Files.size(file), metrics.getBytesWritten());
+
+        Storage journaledStorage = new Storage(file.toString(), true);
+        tasks = journaledStorage.loadTasks();
+        tasks.add(createTodo("return book"));
+        journaledStorage.recordAddition(tasks.get(1));
+        journaledStorage.saveTasks(tasks);
+
+        StorageMetrics journaledMetrics = journaledStorage.getMetrics();
+        assertEquals(Files.size(file), journaledMetrics.getBytesRead());
+        assertEquals(0, journaledMetrics.getFullRewrites());
+        assertEquals(1, journaledMetrics.getJournalFlushes());
+        assertEquals(Files.size(tempDir.resolve("tasks.txt.journal")), journaledMetrics.getBytesWritten());
+        assertEquals(0, journaledMetrics.getFailures());
+    }
 }
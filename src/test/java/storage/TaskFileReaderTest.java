@@ -0,0 +1,66 @@
+package storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import task.Task;
+
+/**
+ * Unit tests for the TaskFileReader class.
+ * This class tests that splitting the task file into chunks parsed in parallel keeps the tasks in order.
+ */
+public class TaskFileReaderTest {
+
+    private static final String TASK_FILE = "T | 1 | read book\n"
+            + "D | 0 | return book | 2024-09-09\r\n"
+            + "\n"
+            + "E | 0 | CS seminar | 2024-10-22 1400 | 2024-10-24 0000\r\n"
+            + "T | 0 | buy milk\r\n"
+            + "\r\n"
+            + "D | 1 | submit essay | 2024-10-10\n"
+            + "T | 0 | call mum";
+
+    private static String toSavedFormat(List<Task> tasks) {
+        return tasks.stream()
+                .map(task -> task.toSavedFormat(" | "))
+                .collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * Tests that every number of chunks, and so chunk edges at every position of the file,
+     * including in the middle of lines and between "\r" and "\n", gives the tasks of the sequential reader.
+     */
+    @Test
+    public void testChunkedReadMatchesSequentialRead() {
+        byte[] bytes = TASK_FILE.getBytes(StandardCharsets.UTF_8);
+        String expected = toSavedFormat(
+                new TaskFileReader(StandardCharsets.UTF_8).readTasks(ByteBuffer.wrap(bytes)));
+        assertEquals(6, expected.split("\n").length);
+
+        for (int chunkCount = 2; chunkCount <= bytes.length; chunkCount++) {
+            List<Task> tasks = new TaskFileReader(StandardCharsets.UTF_8, 0, chunkCount)
+                    .readTasksInParallel(ByteBuffer.wrap(bytes));
+            assertEquals(expected, toSavedFormat(tasks), "with " + chunkCount + " chunks");
+        }
+    }
+
+    /**
+     * Tests that a buffer which does not start at position zero is split from its position.
+     */
+    @Test
+    public void testChunkedReadStartsAtPosition() {
+        byte[] bytes = ("# header\n" + TASK_FILE).getBytes(StandardCharsets.UTF_8);
+        ByteBuffer data = ByteBuffer.wrap(bytes);
+        data.position("# header\n".length());
+
+        String expected = toSavedFormat(new TaskFileReader(StandardCharsets.UTF_8).readTasks(data.duplicate()));
+        List<Task> tasks = new TaskFileReader(StandardCharsets.UTF_8, 0, 7).readTasksInParallel(data);
+        assertEquals(expected, toSavedFormat(tasks));
+    }
+}
@@ -0,0 +1,47 @@
+package task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the DateParser class.
+ * This class tests the canonical fast path as well as the fallback formats.
+ */
+public class DateParserTest {
+
+    private final DateParser<LocalDateTime> parser = DateParser.forDateTimes(
+            List.of(DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm"), DateTimeFormatter.ofPattern("d/M/yyyy HHmm")),
+            List.of(DateTimeFormatter.ofPattern("yyyy-MM-dd"), DateTimeFormatter.ofPattern("d/M/yyyy")));
+
+    @Test
+    public void testParseCanonicalDateTime() {
+        assertEquals(LocalDateTime.of(2024, 10, 22, 14, 0), parser.parse("2024-10-22 1400"));
+    }
+
+    @Test
+    public void testParseFallbackFormats() {
+        assertEquals(LocalDateTime.of(2024, 9, 10, 9, 30), parser.parse("10/9/2024 0930"));
+        assertEquals(LocalDateTime.of(2024, 9, 10, 0, 0), parser.parse("10/9/2024"));
+    }
+
+    @Test
+    public void testParseInvalidDateTime() {
+        assertNull(parser.parse("2024-10-22 2500"));
+        assertNull(parser.parse("next tuesday"));
+    }
+
+    @Test
+    public void testParseDateResolvesLikeFormatter() {
+        DateParser<LocalDate> dateParser = DateParser.forDates(List.of(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
+        assertEquals(LocalDate.of(2024, 2, 29), dateParser.parse("2024-02-29"));
+        assertEquals(LocalDate.parse("2023-02-29", DateTimeFormatter.ofPattern("yyyy-MM-dd")),
+                dateParser.parse("2023-02-29"));
+    }
+}
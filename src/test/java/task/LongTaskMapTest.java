@@ -0,0 +1,44 @@
+package task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the LongTaskMap class.
+ * This class tests that the map agrees with a HashMap after many insertions and removals.
+ */
+public class LongTaskMapTest {
+
+    /**
+     * Tests that random insertions and removals leave the same tasks as in a HashMap.
+     */
+    @Test
+    public void testMatchesHashMap() {
+        Random random = new Random(7);
+        LongTaskMap map = new LongTaskMap();
+        Map<Long, Task> expected = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            long id = 1 + random.nextInt(500);
+            if (random.nextBoolean()) {
+                Task task = new Todo();
+                map.put(id, task);
+                expected.put(id, task);
+            } else {
+                assertSame(expected.remove(id), map.remove(id));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long id = 1; id <= 500; id++) {
+            assertSame(expected.get(id), map.get(id), "Unexpected task for id " + id);
+        }
+        assertNull(map.get(501));
+    }
+}
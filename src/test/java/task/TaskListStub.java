@@ -10,6 +10,7 @@ import exceptions.TaskIndexOutOfBound;
  */
 public class TaskListStub extends TaskList {
     private final ArrayList<Task> tasks = new ArrayList<>();
+    private long nextId = 1;
 
     /**
      * Constructs a new TaskListStub with an initial task list.
@@ -25,7 +26,24 @@ public class TaskListStub extends TaskList {
      */
     @Override
     public void addTask(Task task) {
+        task.setId(nextId++);
         tasks.add(task);
+        recordChange();
+    }
+
+    /**
+     * Inserts a task at the specified index.
+     * @param index The index to insert the task at.
+     * @param task The task to insert.
+     * @throws TaskIndexOutOfBound if the index is out of bounds.
+     */
+    @Override
+    public void insertTask(int index, Task task) throws TaskIndexOutOfBound {
+        if (index < 0 || index > tasks.size()) {
+            throw new TaskIndexOutOfBound();
+        }
+        tasks.add(index, task);
+        recordChange();
     }
 
     /**
@@ -39,6 +57,7 @@ public class TaskListStub extends TaskList {
             throw new TaskIndexOutOfBound();
         }
         tasks.remove(index);
+        recordChange();
     }
 
     /**
@@ -52,6 +71,7 @@ public class TaskListStub extends TaskList {
             throw new TaskIndexOutOfBound();
         }
         tasks.get(index).setMarkStatus(true);
+        recordChange();
     }
 
     /**
@@ -64,6 +84,45 @@ public class TaskListStub extends TaskList {
             throw new TaskIndexOutOfBound();
         }
         tasks.get(index).setMarkStatus(false);
+        recordChange();
+    }
+
+    /**
+     * Marks the task with the specified id as done.
+     * @param id The id of the task to mark as done.
+     * @throws TaskIndexOutOfBound if there is no task with the id.
+     */
+    @Override
+    public void markTaskById(long id) throws TaskIndexOutOfBound {
+        getTaskById(id).setMarkStatus(true);
+        recordChange();
+    }
+
+    /**
+     * Unmarks the task with the specified id as not done.
+     * @param id The id of the task to unmark.
+     * @throws TaskIndexOutOfBound if there is no task with the id.
+     */
+    @Override
+    public void unmarkTaskById(long id) throws TaskIndexOutOfBound {
+        getTaskById(id).setMarkStatus(false);
+        recordChange();
+    }
+
+    /**
+     * Retrieves the task with the specified id by scanning the list.
+     * @param id The id of the task to retrieve.
+     * @return The task with the id.
+     * @throws TaskIndexOutOfBound if there is no task with the id.
+     */
+    @Override
+    public Task getTaskById(long id) throws TaskIndexOutOfBound {
+        for (Task task : tasks) {
+            if (task.getId() == id) {
+                return task;
+            }
+        }
+        throw new TaskIndexOutOfBound();
     }
 
     /**
@@ -80,6 +139,33 @@ public class TaskListStub extends TaskList {
         return tasks.get(index);
     }
 
+    /**
+     * Returns the index of a task by scanning the list.
+     * @param task The task to look for.
+     * @param expectedIndex The index the task is expected to be at, which is ignored.
+     * @return The index of the task, or -1 if it is not in the list.
+     */
+    @Override
+    public int indexOf(Task task, int expectedIndex) {
+        return tasks.indexOf(task);
+    }
+
+    /**
+     * Finds the tasks containing the keyword by scanning the list.
+     * @param keyword The keyword to search for.
+     * @return The matching tasks.
+     */
+    @Override
+    public ArrayList<Task> findTasks(String keyword) {
+        ArrayList<Task> matchingTasks = new ArrayList<>();
+        for (Task task : tasks) {
+            if (task.toString().contains(keyword)) {
+                matchingTasks.add(task);
+            }
+        }
+        return matchingTasks;
+    }
+
     /**
      * Retrieves the entire task list.
      * @return The list of tasks.
@@ -1,4 +1,120 @@
 package task;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import exceptions.TaskIndexOutOfBound;
+
+/**
+ * Unit tests for the TaskList class.
+ */
 public class TaskListTest {
+
+    /**
+     * Tests that only changes to the task list flag it for saving.
+     *
+     * @throws TaskIndexOutOfBound if the task index is out of bounds
+     */
+    @Test
+    public void testOnlyChangesFlagTaskListForSaving() throws TaskIndexOutOfBound {
+        TaskList taskList = new TaskList(new ArrayList<>());
+        assertFalse(taskList.hasUnsavedChanges(), "A new task list has nothing to save");
+
+        taskList.addTask(new Todo());
+        assertTrue(taskList.hasUnsavedChanges(), "Adding a task should flag the task list for saving");
+
+        taskList.markAsSaved();
+        taskList.getTask(0);
+        assertFalse(taskList.hasUnsavedChanges(), "Reading a task should not flag the task list for saving");
+
+        taskList.markTask(0);
+        assertTrue(taskList.hasUnsavedChanges(), "Marking a task should flag the task list for saving");
+    }
+
+    /**
+     * Tests that finding tasks returns the tasks containing the keyword in list order,
+     * including tasks added or deleted after the first search.
+     */
+    @Test
+    public void testFindTasksFollowsChanges() throws TaskIndexOutOfBound {
+        TaskList taskList = new TaskList(new ArrayList<>());
+        taskList.addTask(createTodo("read book"));
+        taskList.addTask(createTodo("buy milk"));
+        taskList.addTask(createTodo("return books"));
+
+        assertEquals("[read book, return books]", taskList.findTasks("ook").toString());
+
+        taskList.deleteTask(0);
+        taskList.addTask(createTodo("bookmark page"));
+        assertEquals("[return books, bookmark page]", taskList.findTasks("book").toString());
+        assertEquals("[return books]", taskList.findTasks("rn").toString());
+    }
+
+    /**
+     * Tests that tasks keep their ids when earlier tasks are deleted and can still be marked by id.
+     */
+    @Test
+    public void testTaskIdsAreStable() throws TaskIndexOutOfBound {
+        TaskList taskList = new TaskList(new ArrayList<>());
+        taskList.addTask(createTodo("read book"));
+        taskList.addTask(createTodo("return book"));
+        long id = taskList.getTask(1).getId();
+
+        taskList.deleteTask(0);
+        taskList.markTaskById(id);
+
+        assertEquals(id, taskList.getTask(0).getId());
+        assertTrue(taskList.getTask(0).getIsDone());
+        assertEquals(0, taskList.indexOf(taskList.getTaskById(id), 1));
+    }
+
+    /**
+     * Tests that a random sequence of additions, deletions and undone deletions
+     * leaves the same tasks as an ArrayList, across several compactions.
+     */
+    @Test
+    public void testDeletionsMatchArrayList() throws TaskIndexOutOfBound {
+        Random random = new Random(3);
+        TaskList taskList = new TaskList(new ArrayList<>());
+        List<Task> expected = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            int operation = random.nextInt(4);
+            if (operation == 0 || expected.isEmpty()) {
+                Task task = createTodo("task" + i);
+                taskList.addTask(task);
+                expected.add(task);
+            } else if (operation == 1) {
+                int index = random.nextInt(expected.size());
+                Task task = expected.remove(index);
+                taskList.deleteTask(index);
+                if (random.nextBoolean()) {
+                    taskList.insertTask(index, task);
+                    expected.add(index, task);
+                }
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.get(index), taskList.getTask(index));
+                assertEquals(index, taskList.indexOf(expected.get(index), -1));
+            }
+        }
+
+        assertEquals(expected, new ArrayList<>(taskList.getTasks()));
+        assertEquals(expected.size(), taskList.getTasks().size());
+        assertEquals(expected.stream().filter(task -> task.toString().contains("sk1")).collect(Collectors.toList()),
+                taskList.findTasks("sk1"));
+    }
+
+    private static Todo createTodo(String description) {
+        Todo todo = new Todo();
+        todo.convertStringToTask(new String[] {"todo", description});
+        return todo;
+    }
 }
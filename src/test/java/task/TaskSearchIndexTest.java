@@ -0,0 +1,53 @@
+package task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the TaskSearchIndex class.
+ * This class tests that searching the index gives the same tasks as checking every task with contains.
+ */
+public class TaskSearchIndexTest {
+
+    private static final String[] WORDS = {"read", "book", "books", "return", "bookmark", "a", "ab", "xyz", "caf\u00e9"};
+
+    /**
+     * Tests that searchable keywords find the same tasks as a linear scan
+     * after a random sequence of additions and removals.
+     */
+    @Test
+    public void testFindMatchesLinearScan() {
+        Random random = new Random(42);
+        List<Task> tasks = new ArrayList<>();
+        TaskSearchIndex index = new TaskSearchIndex(tasks);
+        for (int id = 1; id <= 200; id++) {
+            Task task = createTodo(WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]);
+            task.setId(id);
+            tasks.add(task);
+            index.add(task);
+            if (random.nextInt(4) == 0) {
+                index.remove(tasks.remove(random.nextInt(tasks.size())));
+            }
+        }
+
+        String[] keywords = {"ook", "book", "oks", "mark", "xyz", "af\u00e9", "missing"};
+        for (String keyword : keywords) {
+            List<Task> expected = tasks.stream()
+                    .filter(task -> task.toString().contains(keyword))
+                    .collect(Collectors.toList());
+            assertEquals(expected, index.find(keyword), "Unexpected tasks found for \"" + keyword + "\"");
+        }
+    }
+
+    private static Todo createTodo(String description) {
+        Todo todo = new Todo();
+        todo.convertStringToTask(new String[] {"todo", description});
+        return todo;
+    }
+}
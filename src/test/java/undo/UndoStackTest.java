@@ -0,0 +1,52 @@
+package undo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import exceptions.NoLastCommandToUndo;
+import task.Todo;
+
+/**
+ * Unit tests for the UndoStack class.
+ * This class tests that commands are undone in reverse order and that the oldest ones are forgotten.
+ */
+public class UndoStackTest {
+
+    /**
+     * Tests that repeated commands are all kept and popped in reverse order.
+     */
+    @Test
+    public void testRepeatedCommandsArePoppedInReverseOrder() throws NoLastCommandToUndo {
+        UndoStack undoStack = new UndoStack();
+        CommandRecord first = new CommandRecord("mark", new Todo(), 0);
+        CommandRecord second = new CommandRecord("mark", new Todo(), 0);
+        undoStack.push(first);
+        undoStack.push(second);
+
+        assertEquals(2, undoStack.size());
+        assertSame(second, undoStack.pop());
+        assertSame(first, undoStack.pop());
+        assertThrows(NoLastCommandToUndo.class, undoStack::pop);
+    }
+
+    /**
+     * Tests that a full stack forgets its oldest command when another one is pushed.
+     */
+    @Test
+    public void testFullStackForgetsOldestCommand() throws NoLastCommandToUndo {
+        UndoStack undoStack = new UndoStack(2);
+        CommandRecord[] records = new CommandRecord[3];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = new CommandRecord("todo", new Todo(), i);
+            undoStack.push(records[i]);
+        }
+
+        assertEquals(2, undoStack.size());
+        assertSame(records[2], undoStack.pop());
+        assertSame(records[1], undoStack.pop());
+        assertEquals(0, undoStack.size());
+    }
+}